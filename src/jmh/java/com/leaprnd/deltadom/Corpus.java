@@ -0,0 +1,198 @@
+package com.leaprnd.deltadom;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static java.lang.String.format;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+
+public enum Corpus {
+
+	PRICE_TABLE {
+		@Override
+		protected void populate(Element body, Random random) {
+			final var document = body.getOwnerDocument();
+			final var table = append(body, "table");
+			final var tbody = append(table, "tbody");
+			for (var index = 0; index < 5000; index ++) {
+				final var row = append(tbody, "tr");
+				final var header = append(row, "th");
+				header.setAttribute("scope", "row");
+				header.appendChild(document.createTextNode("Item " + index));
+				final var price = append(row, "td");
+				price.appendChild(document.createTextNode(format("%d.%02d", random.nextInt(100), random.nextInt(100))));
+			}
+		}
+
+		@Override
+		protected void mutate(Element body, Random random) {
+			final var tbody = body.getElementsByTagName("tbody").item(0);
+			final var rows = childrenOf(tbody);
+			for (var swap = 0; swap < 50; swap ++) {
+				final var a = rows.get(random.nextInt(rows.size()));
+				final var b = rows.get(random.nextInt(rows.size()));
+				if (a == b) {
+					continue;
+				}
+				final var afterB = b.getNextSibling();
+				tbody.insertBefore(b, a);
+				tbody.insertBefore(a, afterB);
+			}
+		}
+	},
+
+	LARGE_LIST {
+		@Override
+		protected void populate(Element body, Random random) {
+			final var document = body.getOwnerDocument();
+			final var list = append(body, "ul");
+			for (var index = 0; index < 20000; index ++) {
+				append(list, "li").appendChild(document.createTextNode("Item " + index));
+			}
+		}
+
+		@Override
+		protected void mutate(Element body, Random random) {
+			final var document = body.getOwnerDocument();
+			final var list = body.getElementsByTagName("ul").item(0);
+			final var items = childrenOf(list);
+			for (var index = 0; index < 200; index ++) {
+				final var item = items.remove(random.nextInt(items.size()));
+				list.removeChild(item);
+			}
+			for (var index = 0; index < 200; index ++) {
+				final var item = document.createElement("li");
+				item.appendChild(document.createTextNode("New item " + index));
+				list.insertBefore(item, items.get(random.nextInt(items.size())));
+			}
+		}
+	},
+
+	DEEP_NESTING {
+		@Override
+		protected void populate(Element body, Random random) {
+			final var document = body.getOwnerDocument();
+			var parent = body;
+			for (var depth = 0; depth < 200; depth ++) {
+				final var child = append(parent, "div");
+				child.setAttribute("class", "level-" + depth);
+				append(child, "span").appendChild(document.createTextNode("Level " + depth));
+				parent = child;
+			}
+			parent.appendChild(document.createTextNode("Bottom"));
+		}
+
+		@Override
+		protected void mutate(Element body, Random random) {
+			final var divs = body.getElementsByTagName("div");
+			final var middle = (Element) divs.item(divs.getLength() / 2);
+			middle.setAttribute("class", "level-changed");
+			final var bottom = divs.item(divs.getLength() - 1);
+			bottom.getLastChild().setNodeValue("Changed bottom");
+			final var span = bottom.getFirstChild();
+			bottom.appendChild(span);
+		}
+	},
+
+	ATTRIBUTE_CHURN {
+		@Override
+		protected void populate(Element body, Random random) {
+			final var document = body.getOwnerDocument();
+			for (var index = 0; index < 5000; index ++) {
+				final var div = append(body, "div");
+				div.setAttribute("class", "card card-" + random.nextInt(10));
+				div.setAttribute("data-state", "idle");
+				div.setAttribute("title", "Card " + index);
+				div.appendChild(document.createTextNode("Card " + index));
+			}
+		}
+
+		@Override
+		protected void mutate(Element body, Random random) {
+			for (final var child : childrenOf(body)) {
+				if (random.nextInt(5) != 0) {
+					continue;
+				}
+				final var div = (Element) child;
+				if (random.nextBoolean()) {
+					div.setAttribute("data-state", "busy");
+				} else {
+					div.setAttribute("class", "card card-" + random.nextInt(10));
+				}
+			}
+		}
+	},
+
+	PRODUCT_LISTING {
+		@Override
+		protected void populate(Element body, Random random) {
+			final var document = body.getOwnerDocument();
+			for (var index = 0; index < 8000; index ++) {
+				final var div = append(body, "div");
+				div.setAttribute("class", "product");
+				div.setAttribute("data-sku", "SKU-" + index);
+				div.appendChild(document.createTextNode(format("%d.%02d", random.nextInt(100), random.nextInt(100))));
+			}
+		}
+
+		@Override
+		protected void mutate(Element body, Random random) {
+			for (final var child : childrenOf(body)) {
+				final var price = child.getFirstChild();
+				price.setNodeValue(format("%d.%02d", random.nextInt(100), random.nextInt(100)));
+			}
+		}
+	};
+
+	private static final long SEED = 0x5eed;
+
+	protected abstract void populate(Element body, Random random);
+
+	protected abstract void mutate(Element body, Random random);
+
+	public Document before() {
+		final var document = BUILDER.get().newDocument();
+		final var html = document.createElement("html");
+		document.appendChild(html);
+		append(append(html, "head"), "title").appendChild(document.createTextNode(name()));
+		populate(append(html, "body"), new Random(SEED));
+		return document;
+	}
+
+	public Document after() {
+		final var document = before();
+		final var body = (Element) document.getElementsByTagName("body").item(0);
+		mutate(body, new Random(SEED + 1));
+		return document;
+	}
+
+	private static Element append(Node parent, String tagName) {
+		final var child = parent.getOwnerDocument().createElement(tagName);
+		parent.appendChild(child);
+		return child;
+	}
+
+	private static ArrayList<Node> childrenOf(Node parent) {
+		final var children = new ArrayList<Node>();
+		for (var child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+			children.add(child);
+		}
+		return children;
+	}
+
+	private static final ThreadLocal<DocumentBuilder> BUILDER = ThreadLocal.withInitial(() -> {
+		try {
+			return newInstance().newDocumentBuilder();
+		} catch (ParserConfigurationException exception) {
+			throw new IllegalStateException(exception);
+		}
+	});
+
+}
@@ -0,0 +1,87 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.binary.BinaryDifferenceHandler;
+import com.leaprnd.deltadom.json.JSONDifferenceHandler;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.leaprnd.deltadom.Addressing.CHILD_INDICES;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Level.Invocation;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode({ Throughput, SampleTime })
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeltaDOMBenchmark {
+
+	@Param
+	public Corpus corpus;
+
+	@Param
+	public DiffMode mode;
+
+	private Document pristine;
+	private Document before;
+	private Document after;
+	private NodeMatches matches;
+	private final StringBuilder output = new StringBuilder();
+	private final ByteArrayOutputStream binaryOutput = new ByteArrayOutputStream();
+
+	@Setup(Trial)
+	public void setUp() {
+		pristine = corpus.before();
+		after = corpus.after();
+	}
+
+	@Setup(Invocation)
+	public void reset() {
+		before = mode == DiffMode.IN_PLACE ? (Document) pristine.cloneNode(true) : pristine;
+		matches = NodeMatches.between(before, after);
+		output.setLength(0);
+		binaryOutput.reset();
+	}
+
+	@Benchmark
+	public StringBuilder find() throws IOException {
+		try (final var json = new JSONDifferenceHandler(output)) {
+			new DeltaDOM<>(before, after, matches, json, mode).find();
+		}
+		return output;
+	}
+
+	@Benchmark
+	public StringBuilder findWithChildIndices() throws IOException {
+		try (final var json = new JSONDifferenceHandler(output)) {
+			new DeltaDOM<>(before, after, matches, json, mode, CHILD_INDICES).find();
+		}
+		return output;
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream findBinary() throws IOException {
+		try (final var binary = new BinaryDifferenceHandler(binaryOutput)) {
+			new DeltaDOM<>(before, after, matches, binary, mode).find();
+		}
+		return binaryOutput;
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.json.JSONDifferenceHandler;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import java.io.IOException;
+
+import static com.leaprnd.deltadom.DiffMode.NON_DESTRUCTIVE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Level.Invocation;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode({ Throughput, SampleTime })
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiffSessionBenchmark {
+
+	@Param
+	public Corpus corpus;
+
+	private Document previous;
+	private Document next;
+	private DiffSession session;
+	private final StringBuilder output = new StringBuilder();
+
+	@Setup(Trial)
+	public void setUp() {
+		previous = corpus.after();
+		next = corpus.before();
+		session = new DiffSession(next);
+	}
+
+	@Setup(Invocation)
+	public void swap() {
+		final var document = previous;
+		previous = next;
+		next = document;
+		output.setLength(0);
+	}
+
+	@Benchmark
+	public StringBuilder stateless() throws IOException {
+		try (final var json = new JSONDifferenceHandler(output)) {
+			final var matches = NodeMatches.between(previous, next);
+			new DeltaDOM<>(previous, next, matches, json, NON_DESTRUCTIVE).find();
+		}
+		return output;
+	}
+
+	@Benchmark
+	public StringBuilder session() throws IOException {
+		try (final var json = new JSONDifferenceHandler(output)) {
+			session.diff(next, json);
+		}
+		return output;
+	}
+
+}
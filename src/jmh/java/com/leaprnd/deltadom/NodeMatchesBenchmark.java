@@ -0,0 +1,88 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.matching.MatchingOptions;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import com.leaprnd.deltadom.matching.Snapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import static com.leaprnd.deltadom.matching.MatchingOptions.DEFAULT_MATCHING_OPTIONS;
+import static com.leaprnd.deltadom.matching.MatchingStrategy.HIERARCHICAL;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode({ Throughput, SampleTime })
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeMatchesBenchmark {
+
+	private static final MatchingOptions KEYED = DEFAULT_MATCHING_OPTIONS.withKeyAttributes("data-sku");
+	private static final MatchingOptions HIERARCHICALLY = DEFAULT_MATCHING_OPTIONS.withStrategy(HIERARCHICAL);
+
+	@Param
+	public Corpus corpus;
+
+	private Document before;
+	private Document after;
+	private Snapshot beforeSnapshot;
+	private Snapshot afterSnapshot;
+
+	@Setup(Trial)
+	public void setUp() {
+		before = corpus.before();
+		after = corpus.after();
+		beforeSnapshot = Snapshot.of(before);
+		afterSnapshot = Snapshot.of(after);
+	}
+
+	@Benchmark
+	public NodeMatches between() {
+		return NodeMatches.between(before, after);
+	}
+
+	@Benchmark
+	public NodeMatches betweenInParallel() {
+		return NodeMatches.between(before, after, commonPool());
+	}
+
+	@Benchmark
+	public NodeMatches betweenWithKeyAttributes() {
+		return NodeMatches.between(before, after, KEYED);
+	}
+
+	@Benchmark
+	public NodeMatches betweenHierarchically() {
+		return NodeMatches.between(before, after, HIERARCHICALLY);
+	}
+
+	@Benchmark
+	public NodeMatches betweenSnapshots() {
+		return NodeMatches.between(beforeSnapshot, afterSnapshot);
+	}
+
+	@Benchmark
+	public Snapshot snapshot() {
+		return Snapshot.of(after);
+	}
+
+	@Benchmark
+	public Snapshot snapshotInParallel() {
+		return Snapshot.of(after, commonPool());
+	}
+
+}
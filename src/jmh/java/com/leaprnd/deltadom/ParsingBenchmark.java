@@ -0,0 +1,67 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.matching.Snapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static javax.xml.transform.OutputKeys.METHOD;
+import static javax.xml.transform.TransformerFactory.newDefaultInstance;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode({ Throughput, SampleTime })
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingBenchmark {
+
+	@Param
+	public Corpus corpus;
+
+	private String html;
+
+	@Setup(Trial)
+	public void setUp() throws TransformerException {
+		final var writer = new StringWriter();
+		final var transformer = newDefaultInstance().newTransformer();
+		transformer.setOutputProperty(METHOD, "xml");
+		transformer.transform(new DOMSource(corpus.after()), new StreamResult(writer));
+		html = writer.toString();
+	}
+
+	@Benchmark
+	public Snapshot parseThenSnapshot() throws IOException, SAXException, ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(html)));
+		return Snapshot.of(document);
+	}
+
+	@Benchmark
+	public Snapshot parseStreaming() throws IOException, SAXException, ParserConfigurationException {
+		return Snapshot.parse(new InputSource(new StringReader(html)));
+	}
+
+}
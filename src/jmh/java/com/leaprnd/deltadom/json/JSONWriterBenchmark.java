@@ -0,0 +1,104 @@
+package com.leaprnd.deltadom.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONWriterBenchmark {
+
+	public enum Content {
+
+		PLAIN("abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789"),
+		MARKUP("\"quoted\"\\\n\t<pre>\r\n"),
+		CJK("\u4e2d\u6587\u65e5\u672c\u8a9e\ud55c\uad6d\uc5b4"),
+		CONTROL("\u0001\u0002\u007f\u0085\u2028\u2029\u20ac");
+
+		private final String alphabet;
+
+		Content(String alphabet) {
+			this.alphabet = alphabet;
+		}
+
+		private String randomString(Random random, int length) {
+			final var builder = new StringBuilder(length);
+			for (var index = 0; index < length; index ++) {
+				builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			return builder.toString();
+		}
+
+	}
+
+	@Param
+	public Content content;
+
+	@Param({ "16", "1024", "65536" })
+	public int length;
+
+	private String text;
+	private final StringBuilder output = new StringBuilder();
+	private final UTF8Writer utf8 = new UTF8Writer(new WritableByteChannel() {
+
+		@Override
+		public int write(ByteBuffer source) {
+			final var remaining = source.remaining();
+			source.position(source.limit());
+			return remaining;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {}
+
+	});
+
+	@Setup(Trial)
+	public void setUp() {
+		text = content.randomString(new Random(length), length);
+	}
+
+	@Benchmark
+	public StringBuilder escape() throws IOException {
+		output.setLength(0);
+		try (final var array = new JSONWriter(output).array()) {
+			array.value(text);
+		}
+		return output;
+	}
+
+	@Benchmark
+	public UTF8Writer escapeToUTF8() throws IOException {
+		try (final var array = new JSONWriter(utf8).array()) {
+			array.value(text);
+		}
+		utf8.flush();
+		return utf8;
+	}
+
+}
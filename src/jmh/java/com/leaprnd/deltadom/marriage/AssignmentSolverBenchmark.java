@@ -0,0 +1,52 @@
+package com.leaprnd.deltadom.marriage;
+
+import com.leaprnd.deltadom.marriage.StableMarriageProblemSolverBenchmark.Strengths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode({ Throughput, SampleTime })
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentSolverBenchmark {
+
+	@Param
+	public AssignmentStrategy strategy;
+
+	@Param
+	public Strengths strengths;
+
+	@Param({ "10", "64", "500" })
+	public int size;
+
+	private float[][] grid;
+
+	@Setup(Trial)
+	public void setUp() {
+		grid = strengths.newGrid(size, new Random(size));
+	}
+
+	@Benchmark
+	public void solve(Blackhole blackhole) {
+		strategy.solve(size, size, (man, woman) -> grid[man][woman], (man, woman, strength) -> blackhole.consume(woman));
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.leaprnd.deltadom.marriage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode({ Throughput, SampleTime })
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StableMarriageProblemSolverBenchmark {
+
+	public enum Strengths {
+
+		RANDOM {
+			@Override
+			protected float[][] newGrid(int size, Random random) {
+				final var strengths = new float[size][size];
+				for (var man = 0; man < size; man ++) {
+					for (var woman = 0; woman < size; woman ++) {
+						strengths[man][woman] = random.nextFloat();
+					}
+				}
+				return strengths;
+			}
+		},
+
+		STAIRCASE {
+			@Override
+			protected float[][] newGrid(int size, Random random) {
+				final var strengths = new float[size][size];
+				for (var index = 0; index < size; index ++) {
+					strengths[index][index] = 2 * index + 1;
+					if (index + 1 < size) {
+						strengths[index + 1][index] = 2 * index + 2;
+					}
+				}
+				return strengths;
+			}
+		};
+
+		protected abstract float[][] newGrid(int size, Random random);
+
+	}
+
+	@Param
+	public Strengths strengths;
+
+	@Param({ "10", "100", "1000", "5000" })
+	public int size;
+
+	private float[][] grid;
+
+	@Setup(Trial)
+	public void setUp() {
+		grid = strengths.newGrid(size, new Random(size));
+	}
+
+	@Benchmark
+	public void run(Blackhole blackhole) {
+		new StableMarriageProblemSolver() {
+
+			@Override
+			protected float getStrengthOfPotentialMarriageBetween(int indexOfMan, int indexOfWoman) {
+				return grid[indexOfMan][indexOfWoman];
+			}
+
+			@Override
+			protected int getNumberOfMen() {
+				return size;
+			}
+
+			@Override
+			protected int getNumberOfWomen() {
+				return size;
+			}
+
+			@Override
+			protected void onMarriageBetween(int indexOfMan, int indexOfWoman, float strengthOfMarriage) {
+				blackhole.consume(indexOfWoman);
+			}
+
+		}.run();
+	}
+
+}
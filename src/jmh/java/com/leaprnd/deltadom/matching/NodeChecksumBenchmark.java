@@ -0,0 +1,72 @@
+package com.leaprnd.deltadom.matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeChecksumBenchmark {
+
+	public enum Alphabet {
+
+		ASCII('a', 'z'),
+		CJK('\u4e00', '\u9fff');
+
+		private final char first;
+		private final char last;
+
+		Alphabet(char first, char last) {
+			this.first = first;
+			this.last = last;
+		}
+
+		private String randomString(Random random, int length) {
+			final var characters = new char[length];
+			for (var index = 0; index < length; index ++) {
+				characters[index] = (char) (first + random.nextInt(last - first + 1));
+			}
+			return new String(characters);
+		}
+
+	}
+
+	@Param
+	public Alphabet alphabet;
+
+	@Param({ "8", "64", "1024", "16384" })
+	public int length;
+
+	private String text;
+
+	@Setup(Trial)
+	public void setUp() {
+		text = alphabet.randomString(new Random(length), length);
+	}
+
+	@Benchmark
+	public NodeChecksum add() {
+		final var checksum = new NodeChecksum();
+		checksum.add(text);
+		checksum.done();
+		return checksum;
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.leaprnd.deltadom.matching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static com.leaprnd.deltadom.matching.AlwaysGoodMatch.ALWAYS_GOOD_MATCH;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.openjdk.jmh.annotations.Level.Trial;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilarityGridBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	private final ArrayList<Element> xs = new ArrayList<>();
+	private final ArrayList<Element> ys = new ArrayList<>();
+	private SnapshotPair snapshots;
+
+	@Setup(Trial)
+	public void setUp() throws ParserConfigurationException {
+		final var random = new Random(size);
+		final var x = populate(xs, random);
+		final var y = populate(ys, random);
+		snapshots = new SnapshotPair(Snapshot.of(x), Snapshot.of(y));
+	}
+
+	private Document populate(ArrayList<Element> elements, Random random) throws ParserConfigurationException {
+		final Document document = newInstance().newDocumentBuilder().newDocument();
+		final var parent = document.createElement("div");
+		document.appendChild(parent);
+		for (var index = 0; index < size; index ++) {
+			final var element = document.createElement("div");
+			element.setAttribute("class", "card card-" + random.nextInt(10));
+			element.setAttribute("data-state", random.nextBoolean() ? "idle" : "busy");
+			element.setAttribute("title", "Card " + random.nextInt(size));
+			parent.appendChild(element);
+			elements.add(element);
+		}
+		return document;
+	}
+
+	@Benchmark
+	public NodeMatches findMatches() {
+		final var grid = new SimilarityGrid<Element>(new ElementCalculator(snapshots), snapshots);
+		grid.addXs(xs);
+		grid.addYs(ys);
+		final var matches = new NodeMatches();
+		grid.findMatches(ALWAYS_GOOD_MATCH, matches);
+		return matches;
+	}
+
+	@Benchmark
+	public NodeMatches findMatchesWithFingerprints() {
+		final var calculator = new ElementCalculator(snapshots);
+		final var grid = new SimilarityGrid<Element>(calculator, calculator, snapshots);
+		grid.addXs(xs);
+		grid.addYs(ys);
+		final var matches = new NodeMatches();
+		grid.findMatches(ALWAYS_GOOD_MATCH, matches);
+		return matches;
+	}
+
+}
@@ -0,0 +1,6 @@
+package com.leaprnd.deltadom;
+
+public enum Addressing {
+	CSS_SELECTORS,
+	CHILD_INDICES
+}
@@ -2,19 +2,29 @@ package com.leaprnd.deltadom;
 
 import com.leaprnd.deltadom.matching.NodeMatches;
 import com.leaprnd.deltadom.selectors.Position;
-import com.leaprnd.deltadom.selectors.Selector;
+import com.leaprnd.deltadom.selectors.SelectorCache;
+import com.leaprnd.deltadom.util.ChildPositions;
+import com.leaprnd.deltadom.util.ClassListDelta;
+import com.leaprnd.deltadom.util.MutableTree;
+import com.leaprnd.deltadom.util.Splice;
+import com.leaprnd.deltadom.util.StyleDelta;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
 
+import static com.leaprnd.deltadom.Addressing.CHILD_INDICES;
+import static com.leaprnd.deltadom.Addressing.CSS_SELECTORS;
+import static com.leaprnd.deltadom.Granularity.INCREMENTAL;
+import static com.leaprnd.deltadom.Granularity.WHOLE_VALUES;
+import static com.leaprnd.deltadom.util.SpliceFinder.findSplicesBetween;
 import static java.lang.Math.max;
 import static java.util.Collections.emptySet;
 import static org.w3c.dom.Node.ATTRIBUTE_NODE;
@@ -24,19 +34,59 @@ import static org.w3c.dom.Node.TEXT_NODE;
 
 public final class DeltaDOM<E extends Throwable> {
 
+	private static final int MIN_SPLICE_LENGTH = 256;
+	private static final int COST_OF_SPLICE = 32;
+	private static final int COST_OF_TOKEN_OPERATION = 16;
+	private static final String CLASS_ATTRIBUTE = "class";
+	private static final String STYLE_ATTRIBUTE = "style";
+
 	private final Node beforeRoot;
-	private final Document beforeDocument;
 	private final Node afterRoot;
 	private final NodeMatches matches;
 	private final DifferenceHandler<E> listener;
 	private final HashSet<Node> ordered = new HashSet<>();
+	private final MutableTree tree;
+	private final ChildPositions positions;
+	private final SelectorCache selectors;
+	private final Granularity granularity;
 
 	public DeltaDOM(Node beforeRoot, Node afterRoot, NodeMatches matches, DifferenceHandler<E> listener) {
+		this(beforeRoot, afterRoot, matches, listener, DiffMode.IN_PLACE);
+	}
+
+	public DeltaDOM(Node beforeRoot, Node afterRoot, NodeMatches matches, DifferenceHandler<E> listener, DiffMode mode) {
+		this(beforeRoot, afterRoot, matches, listener, mode, CSS_SELECTORS);
+	}
+
+	public DeltaDOM(
+		Node beforeRoot,
+		Node afterRoot,
+		NodeMatches matches,
+		DifferenceHandler<E> listener,
+		DiffMode mode,
+		Addressing addressing
+	) {
+		this(beforeRoot, afterRoot, matches, listener, mode, addressing, WHOLE_VALUES);
+	}
+
+	public DeltaDOM(
+		Node beforeRoot,
+		Node afterRoot,
+		NodeMatches matches,
+		DifferenceHandler<E> listener,
+		DiffMode mode,
+		Addressing addressing,
+		Granularity granularity
+	) {
 		this.beforeRoot = beforeRoot;
-		this.beforeDocument = beforeRoot instanceof final Document document ? document : beforeRoot.getOwnerDocument();
 		this.afterRoot = afterRoot;
 		this.matches = matches;
 		this.listener = listener;
+		final var beforeDocument = beforeRoot instanceof final Document document ? document : beforeRoot.getOwnerDocument();
+		this.tree = mode.newTree(beforeDocument);
+		this.positions = new ChildPositions(tree);
+		this.selectors = addressing == CHILD_INDICES ? new SelectorCache(tree, positions) : new SelectorCache(tree);
+		this.granularity = granularity;
 	}
 
 	public void find() throws E {
@@ -61,7 +111,7 @@ public final class DeltaDOM<E extends Throwable> {
 				result = doInsert(after, matchOfAfterParent);
 			} else {
 				final var beforeNode = beforeMatch.node();
-				final var beforeParent = beforeNode.getParentNode();
+				final var beforeParent = tree.getParentNode(beforeNode);
 				if (matchOfAfterParent.isSameNode(beforeParent)) {
 					result = beforeNode;
 				} else {
@@ -96,19 +146,19 @@ public final class DeltaDOM<E extends Throwable> {
 						final var afterAttribute = (Attr) afterAttributes.getNamedItem(beforeAttributeName);
 						if (afterAttribute == null) {
 							onDelete(beforeAttribute);
-							beforeAttributes.removeNamedItem(beforeAttributeName);
+							tree.removeAttribute((Element) before, beforeAttributeName);
 						} else if (!beforeAttribute.getNodeValue().equals(afterAttribute.getNodeValue())) {
 							onUpdate(beforeAttribute, afterAttribute);
-							beforeAttribute.setNodeValue(afterAttribute.getNodeValue());
+							tree.setAttribute((Element) before, afterAttribute);
 						}
 					}
 					index = afterAttributes.getLength();
 					while (--index >= 0) {
-						final var afterAttribute = afterAttributes.item(index);
+						final var afterAttribute = (Attr) afterAttributes.item(index);
 						final var afterAttributeName = afterAttribute.getNodeName();
 						if (beforeAttributes.getNamedItem(afterAttributeName) == null) {
 							onInsert(afterAttribute, before, 0);
-							beforeAttributes.setNamedItem(beforeDocument.importNode(afterAttribute, true));
+							tree.setAttribute((Element) before, afterAttribute);
 						}
 					}
 				}
@@ -117,7 +167,7 @@ public final class DeltaDOM<E extends Throwable> {
 				final var oldValue = before.getNodeValue();
 				final var newValue = after.getNodeValue();
 				if (!newValue.equals(oldValue)) {
-					listener.onSetValue(Position.toRemovePosition(before), newValue);
+					onUpdate(before, oldValue, newValue);
 				}
 			}
 			default -> throw new UnexpectedNodeTypeException(nodeType);
@@ -126,11 +176,11 @@ public final class DeltaDOM<E extends Throwable> {
 
 	private Node doInsert(Node newNode, Node newParent) throws E {
 		final var insertPosition = findInsertPositionOf(newNode);
-		final var imported = beforeDocument.importNode(newNode, false);
+		final var imported = tree.importNode(newNode);
 		markAsInOrder(imported);
 		markAsInOrder(newNode);
 		onInsert(imported, newParent, insertPosition);
-		insertAsChild(insertPosition, newParent, imported);
+		insertChild(insertPosition, newParent, imported);
 		matches.add(imported, newNode, Similarity.GOOD_MATCH);
 		return imported;
 	}
@@ -140,7 +190,7 @@ public final class DeltaDOM<E extends Throwable> {
 		markAsInOrder(oldNode);
 		markAsInOrder(newNode);
 		onMove(oldNode, newParent, insertPosition);
-		insertAsChild(insertPosition, newParent, oldNode);
+		insertChild(insertPosition, newParent, oldNode);
 		return oldNode;
 	}
 
@@ -148,14 +198,16 @@ public final class DeltaDOM<E extends Throwable> {
 		final var match = matches.getAfterOf(node);
 		if (match == null) {
 			onDelete(node);
-			final var parent = node.getParentNode();
-			parent.removeChild(node);
+			final var parent = tree.getParentNode(node);
+			positions.remove(node);
+			selectors.remove(node);
+			tree.removeChild(parent, node);
 		} else {
 			final var similarity = match.similarity();
 			if (similarity < Similarity.PERFECT_MATCH) {
-				var child = node.getLastChild();
+				var child = tree.getLastChild(node);
 				while (child != null) {
-					final var previous = child.getPreviousSibling();
+					final var previous = tree.getPreviousSibling(child);
 					deletePhase(child);
 					child = previous;
 				}
@@ -175,6 +227,18 @@ public final class DeltaDOM<E extends Throwable> {
 		}
 	}
 
+	private void markBeforeChildrenAsOutOfOrder(final Node node) {
+		for (var child = tree.getFirstChild(node); child != null; child = tree.getNextSibling(child)) {
+			markAsOutOfOrder(child);
+		}
+	}
+
+	private void markBeforeChildrenAsInOrder(Node node) {
+		for (var child = tree.getFirstChild(node); child != null; child = tree.getNextSibling(child)) {
+			markAsInOrder(child);
+		}
+	}
+
 	private void markNodesAndMatchesInOrder(Iterable<Node> nodes) {
 		for (final var node : nodes) {
 			markAsInOrder(node);
@@ -191,28 +255,28 @@ public final class DeltaDOM<E extends Throwable> {
 			final var match = matches.getAfterNodeOf(child);
 			final var insertPosition = findInsertPositionOf(match);
 			onMove(child, parent, insertPosition);
-			insertAsChild(insertPosition, parent, child);
+			insertChild(insertPosition, parent, child);
 			markAsInOrder(child);
 			markAsInOrder(match);
 		}
 	}
 
 	private void alignChildren(Node x, Node y) throws E {
-		markChildrenAsOutOfOrder(x);
+		markBeforeChildrenAsOutOfOrder(x);
 		markChildrenAsOutOfOrder(y);
-		final var xOverlap = getSequence(x, y, matches::getAfterNodeOf);
-		final var yOverlap = getSequence(y, x, matches::getBeforeNodeOf);
+		final var xOverlap = getBeforeSequence(x, y);
+		final var yOverlap = getAfterSequence(y, x);
 		final var longestSubsequence = findLongestCommonSubsequence(xOverlap, yOverlap);
 		markNodesAndMatchesInOrder(longestSubsequence);
 		moveMisalignedNodes(x, xOverlap, longestSubsequence);
-		markChildrenAsInOrder(x);
+		markBeforeChildrenAsInOrder(x);
 		markChildrenAsInOrder(y);
 	}
 
-	private static ArrayList<Node> getSequence(Node parent, Node otherParent, Function<Node, Node> getMatch) {
+	private ArrayList<Node> getBeforeSequence(Node parent, Node otherParent) {
 		final var results = new ArrayList<Node>();
-		for (var child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
-			final var match = getMatch.apply(child);
+		for (var child = tree.getFirstChild(parent); child != null; child = tree.getNextSibling(child)) {
+			final var match = matches.getAfterNodeOf(child);
 			if (match == null) {
 				continue;
 			}
@@ -223,6 +287,20 @@ public final class DeltaDOM<E extends Throwable> {
 		return results;
 	}
 
+	private ArrayList<Node> getAfterSequence(Node parent, Node otherParent) {
+		final var results = new ArrayList<Node>();
+		for (var child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+			final var match = matches.getBeforeNodeOf(child);
+			if (match == null) {
+				continue;
+			}
+			if (tree.getParentNode(match).isSameNode(otherParent)) {
+				results.add(child);
+			}
+		}
+		return results;
+	}
+
 	private Set<Node> findLongestCommonSubsequence(List<Node> x, List<Node> y) {
 
 		var lastIndexOfX = x.size() - 1;
@@ -261,62 +339,132 @@ public final class DeltaDOM<E extends Throwable> {
 			return new HashSet<>(x);
 		}
 
-		final var xLengthOfMatrix = lastIndexOfX - firstIndex + 2;
-		final var yLengthOfMatrix = lastIndexOfY - firstIndex + 2;
-		final var memo = new int[xLengthOfMatrix][yLengthOfMatrix];
+		final var results = new HashSet<Node>();
 
-		{
-			for (var xIndex = firstIndex; xIndex <= lastIndexOfX; xIndex ++) {
-				final var matchOfX = matchesOfX[xIndex];
-				for (var yIndex = firstIndex; yIndex <= lastIndexOfY; yIndex ++) {
-					final var yNode = y.get(yIndex);
-					final int newLength;
-					if (yNode.isSameNode(matchOfX)) {
-						newLength = 1 + memo[xIndex - firstIndex][yIndex - firstIndex];
-					} else {
-						newLength = max(
-							memo[xIndex - firstIndex][yIndex - firstIndex + 1],
-							memo[xIndex - firstIndex + 1][yIndex - firstIndex]
-						);
-					}
-					memo[xIndex - firstIndex + 1][yIndex - firstIndex + 1] = newLength;
-				}
-			}
+		for (var xIndex = x.size() - 1; xIndex > lastIndexOfX; xIndex --) {
+			final var xNode = x.get(xIndex);
+			results.add(xNode);
 		}
 
-		final var results = new HashSet<Node>();
+		if (!addLongestIncreasingSubsequence(x, y, matchesOfX, firstIndex, lastIndexOfX, lastIndexOfY, results)) {
+			addLongestCommonSubsequence(x, y, matchesOfX, firstIndex, lastIndexOfX, lastIndexOfY, results);
+		}
 
-		for (var xIndex = x.size() - 1; xIndex > lastIndexOfX; xIndex --) {
+		for (var xIndex = firstIndex - 1; xIndex >= 0; xIndex --) {
 			final var xNode = x.get(xIndex);
 			results.add(xNode);
 		}
 
-		{
-			var xIndex = xLengthOfMatrix - 1;
-			var yIndex = yLengthOfMatrix - 1;
+		return results;
 
-			while (xIndex > 0 && yIndex > 0) {
-				final var yNode = y.get(firstIndex + yIndex - 1);
-				final var matchOfX = matchesOfX[firstIndex + xIndex - 1];
-				if (yNode.isSameNode(matchOfX)) {
-					final var xNode = x.get(firstIndex + xIndex - 1);
-					results.add(xNode);
-					yIndex --;
-					xIndex --;
-				} else if (memo[xIndex][yIndex - 1] >= memo[xIndex - 1][yIndex]) {
-					yIndex --;
+	}
+
+	private static boolean addLongestIncreasingSubsequence(
+		List<Node> x,
+		List<Node> y,
+		Node[] matchesOfX,
+		int firstIndex,
+		int lastIndexOfX,
+		int lastIndexOfY,
+		Set<Node> results
+	) {
+
+		final var length = lastIndexOfX - firstIndex + 1;
+
+		if (lastIndexOfY - firstIndex + 1 != length) {
+			return false;
+		}
+
+		final var indicesOfY = new HashMap<Node, Integer>();
+		for (var yIndex = firstIndex; yIndex <= lastIndexOfY; yIndex ++) {
+			indicesOfY.put(y.get(yIndex), yIndex);
+		}
+
+		final var indicesOfMatches = new int[length];
+		final var tails = new int[length];
+		final var predecessors = new int[length];
+		var longest = 0;
+
+		for (var offset = 0; offset < length; offset ++) {
+			final var indexOfMatch = indicesOfY.get(matchesOfX[firstIndex + offset]);
+			if (indexOfMatch == null) {
+				return false;
+			}
+			indicesOfMatches[offset] = indexOfMatch;
+			var low = 0;
+			var high = longest;
+			while (low < high) {
+				final var middle = low + high >>> 1;
+				if (indicesOfMatches[tails[middle]] < indexOfMatch) {
+					low = middle + 1;
 				} else {
-					xIndex --;
+					high = middle;
 				}
 			}
+			predecessors[offset] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = offset;
+			if (low == longest) {
+				longest ++;
+			}
 		}
 
-		for (var xIndex = firstIndex - 1; xIndex >= 0; xIndex --) {
-			final var xNode = x.get(xIndex);
+		for (var offset = tails[longest - 1]; offset >= 0; offset = predecessors[offset]) {
+			final var xNode = x.get(firstIndex + offset);
 			results.add(xNode);
 		}
 
-		return results;
+		return true;
+
+	}
+
+	private static void addLongestCommonSubsequence(
+		List<Node> x,
+		List<Node> y,
+		Node[] matchesOfX,
+		int firstIndex,
+		int lastIndexOfX,
+		int lastIndexOfY,
+		Set<Node> results
+	) {
+
+		final var xLengthOfMatrix = lastIndexOfX - firstIndex + 2;
+		final var yLengthOfMatrix = lastIndexOfY - firstIndex + 2;
+		final var memo = new int[xLengthOfMatrix][yLengthOfMatrix];
+
+		for (var xIndex = firstIndex; xIndex <= lastIndexOfX; xIndex ++) {
+			final var matchOfX = matchesOfX[xIndex];
+			for (var yIndex = firstIndex; yIndex <= lastIndexOfY; yIndex ++) {
+				final var yNode = y.get(yIndex);
+				final int newLength;
+				if (yNode.isSameNode(matchOfX)) {
+					newLength = 1 + memo[xIndex - firstIndex][yIndex - firstIndex];
+				} else {
+					newLength = max(
+						memo[xIndex - firstIndex][yIndex - firstIndex + 1],
+						memo[xIndex - firstIndex + 1][yIndex - firstIndex]
+					);
+				}
+				memo[xIndex - firstIndex + 1][yIndex - firstIndex + 1] = newLength;
+			}
+		}
+
+		var xIndex = xLengthOfMatrix - 1;
+		var yIndex = yLengthOfMatrix - 1;
+
+		while (xIndex > 0 && yIndex > 0) {
+			final var yNode = y.get(firstIndex + yIndex - 1);
+			final var matchOfX = matchesOfX[firstIndex + xIndex - 1];
+			if (yNode.isSameNode(matchOfX)) {
+				final var xNode = x.get(firstIndex + xIndex - 1);
+				results.add(xNode);
+				yIndex --;
+				xIndex --;
+			} else if (memo[xIndex][yIndex - 1] >= memo[xIndex - 1][yIndex]) {
+				yIndex --;
+			} else {
+				xIndex --;
+			}
+		}
 
 	}
 
@@ -325,15 +473,8 @@ public final class DeltaDOM<E extends Throwable> {
 		if (previousNode == null) {
 			return 0;
 		} else {
-			var matchOfPreviousNode = matches.getBeforeNodeOf(previousNode);
-			var index = 1;
-			while (true) {
-				matchOfPreviousNode = matchOfPreviousNode.getPreviousSibling();
-				if (matchOfPreviousNode == null) {
-					return index;
-				}
-				index ++;
-			}
+			final var matchOfPreviousNode = matches.getBeforeNodeOf(previousNode);
+			return positions.indexOf(matchOfPreviousNode) + 1;
 		}
 	}
 
@@ -362,15 +503,28 @@ public final class DeltaDOM<E extends Throwable> {
 		parent.insertBefore(node, insertBefore);
 	}
 
+	private void insertChild(int position, Node parent, Node node) {
+		final var insertBefore = positions.get(parent, position);
+		positions.remove(node);
+		selectors.remove(node);
+		tree.insertBefore(parent, node, insertBefore);
+		positions.insert(node);
+		selectors.insert(node);
+	}
+
+	private Position toRemovePosition(Node node) {
+		return selectors.toPosition(tree.getParentNode(node), positions.indexOf(node));
+	}
+
 	private void onMove(Node node, Node newParent, int newPosition) throws E {
 		final var nodeType = node.getNodeType();
 		switch (nodeType) {
 			case COMMENT_NODE, TEXT_NODE -> {
-				listener.onMoveNode(Position.toRemovePosition(node), Position.toInsertPosition(newParent, newPosition));
+				listener.onMoveNode(toRemovePosition(node), selectors.toPosition(newParent, newPosition));
 			}
 			case ELEMENT_NODE -> {
 				final var element = (Element) node;
-				listener.onMoveElement(Selector.toSelector(element), Position.toInsertPosition(newParent, newPosition));
+				listener.onMoveElement(selectors.toSelector(element), selectors.toPosition(newParent, newPosition));
 			}
 			default -> throw new UnexpectedNodeTypeException(nodeType);
 		}
@@ -383,13 +537,13 @@ public final class DeltaDOM<E extends Throwable> {
 				final var attribute = (Attr) node;
 				final var nameOfAttribute = node.getNodeName();
 				final var element = attribute.getOwnerElement();
-				listener.onRemoveAttribute(Selector.toSelector(element), nameOfAttribute);
+				listener.onRemoveAttribute(selectors.toSelector(element), nameOfAttribute);
 			}
 			case COMMENT_NODE, TEXT_NODE -> {
-				listener.onDeleteNode(Position.toRemovePosition(node));
+				listener.onDeleteNode(toRemovePosition(node));
 			}
 			case ELEMENT_NODE -> {
-				listener.onDeleteElement(Selector.toSelector((Element) node));
+				listener.onDeleteElement(selectors.toSelector((Element) node), toRemovePosition(node));
 			}
 			default -> throw new UnexpectedNodeTypeException(nodeType);
 		}
@@ -399,30 +553,106 @@ public final class DeltaDOM<E extends Throwable> {
 		final var nodeType = node.getNodeType();
 		switch (nodeType) {
 			case ATTRIBUTE_NODE -> {
-				listener.onSetAttribute(Selector.toSelector((Element) parent), node.getNodeName(), node.getNodeValue());
+				listener.onSetAttribute(selectors.toSelector((Element) parent), node.getNodeName(), node.getNodeValue());
 			}
 			case COMMENT_NODE -> {
-				listener.onInsertComment(Position.toInsertPosition(parent, newPosition), node.getNodeValue());
+				listener.onInsertComment(selectors.toPosition(parent, newPosition), node.getNodeValue());
 			}
 			case ELEMENT_NODE -> {
-				final var position = Position.toInsertPosition(parent, newPosition);
+				final var position = selectors.toPosition(parent, newPosition);
 				listener.onInsertElement(position, node.getNodeName(), node.getAttributes());
 			}
 			case TEXT_NODE -> {
-				listener.onInsertText(Position.toInsertPosition(parent, newPosition), node.getNodeValue());
+				listener.onInsertText(selectors.toPosition(parent, newPosition), node.getNodeValue());
 			}
 			default -> throw new UnexpectedNodeTypeException(nodeType);
 		}
 	}
 
+	private void onUpdate(Node node, String oldValue, String newValue) throws E {
+		final var position = toRemovePosition(node);
+		if (granularity == INCREMENTAL && oldValue.length() >= MIN_SPLICE_LENGTH) {
+			final var splices = findSplicesBetween(oldValue, newValue);
+			if (getCostOf(splices) < newValue.length()) {
+				for (final var splice : splices) {
+					listener.onSpliceValue(position, splice.offset(), splice.deleteCount(), splice.text(), newValue);
+				}
+				return;
+			}
+		}
+		listener.onSetValue(position, newValue);
+	}
+
+	private static int getCostOf(List<Splice> splices) {
+		var cost = 0;
+		for (final var splice : splices) {
+			cost += COST_OF_SPLICE + splice.text().length();
+		}
+		return cost;
+	}
+
 	private void onUpdate(Node before, Node after) throws E {
 		if (before instanceof final Attr beforeAttr) {
 			final var parent = beforeAttr.getOwnerElement();
-			listener.onSetAttribute(Selector.toSelector(parent), after.getNodeName(), after.getNodeValue());
+			final var selector = selectors.toSelector(parent);
+			final var name = after.getNodeName();
+			final var oldValue = before.getNodeValue();
+			final var newValue = after.getNodeValue();
+			if (granularity == INCREMENTAL) {
+				switch (name) {
+					case CLASS_ATTRIBUTE -> {
+						final var delta = ClassListDelta.between(oldValue, newValue);
+						if (delta != null && getCostOf(delta) < newValue.length()) {
+							for (final var token : delta.removed()) {
+								listener.onRemoveClass(selector, token, newValue);
+							}
+							for (final var token : delta.added()) {
+								listener.onAddClass(selector, token, newValue);
+							}
+							return;
+						}
+					}
+					case STYLE_ATTRIBUTE -> {
+						final var delta = StyleDelta.between(oldValue, newValue);
+						if (delta != null && getCostOf(delta) < newValue.length()) {
+							for (final var property : delta.removed()) {
+								listener.onRemoveStyleProperty(selector, property, newValue);
+							}
+							for (final var entry : delta.set().entrySet()) {
+								listener.onSetStyleProperty(selector, entry.getKey(), entry.getValue(), newValue);
+							}
+							return;
+						}
+					}
+				}
+			}
+			listener.onSetAttribute(selector, name, newValue);
 		} else {
 			final var nodeType = before.getNodeType();
 			throw new UnexpectedNodeTypeException(nodeType);
 		}
 	}
 
+	private static int getCostOf(ClassListDelta delta) {
+		var cost = 0;
+		for (final var token : delta.removed()) {
+			cost += COST_OF_TOKEN_OPERATION + token.length();
+		}
+		for (final var token : delta.added()) {
+			cost += COST_OF_TOKEN_OPERATION + token.length();
+		}
+		return cost;
+	}
+
+	private static int getCostOf(StyleDelta delta) {
+		var cost = 0;
+		for (final var property : delta.removed()) {
+			cost += COST_OF_TOKEN_OPERATION + property.length();
+		}
+		for (final var entry : delta.set().entrySet()) {
+			cost += COST_OF_TOKEN_OPERATION + entry.getKey().length() + entry.getValue().length();
+		}
+		return cost;
+	}
+
 }
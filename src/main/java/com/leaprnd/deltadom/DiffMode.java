@@ -0,0 +1,26 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.util.InPlaceTree;
+import com.leaprnd.deltadom.util.MutableTree;
+import com.leaprnd.deltadom.util.OverlayTree;
+import org.w3c.dom.Document;
+
+public enum DiffMode {
+
+	IN_PLACE {
+		@Override
+		MutableTree newTree(Document beforeDocument) {
+			return new InPlaceTree(beforeDocument);
+		}
+	},
+
+	NON_DESTRUCTIVE {
+		@Override
+		MutableTree newTree(Document beforeDocument) {
+			return new OverlayTree();
+		}
+	};
+
+	abstract MutableTree newTree(Document beforeDocument);
+
+}
@@ -0,0 +1,58 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.matching.MatchingCache;
+import com.leaprnd.deltadom.matching.MatchingOptions;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import com.leaprnd.deltadom.matching.Snapshot;
+import org.w3c.dom.Node;
+
+import static com.leaprnd.deltadom.DiffMode.NON_DESTRUCTIVE;
+import static com.leaprnd.deltadom.matching.MatchingOptions.DEFAULT_MATCHING_OPTIONS;
+
+public final class DiffSession {
+
+	private final MatchingCache cache;
+	private Snapshot previous;
+	private boolean degraded = false;
+
+	public DiffSession(Node root) {
+		this(root, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public DiffSession(Node root, MatchingOptions options) {
+		this(Snapshot.of(root), options);
+	}
+
+	public DiffSession(Snapshot snapshot) {
+		this(snapshot, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public DiffSession(Snapshot snapshot, MatchingOptions options) {
+		this.cache = new MatchingCache(options);
+		this.previous = snapshot;
+	}
+
+	public Node getRoot() {
+		return previous.getNode(0);
+	}
+
+	public Snapshot getSnapshot() {
+		return previous;
+	}
+
+	public boolean wasDegraded() {
+		return degraded;
+	}
+
+	public <E extends Throwable> void diff(Node root, DifferenceHandler<E> handler) throws E {
+		diff(Snapshot.of(root), handler);
+	}
+
+	public <E extends Throwable> void diff(Snapshot next, DifferenceHandler<E> handler) throws E {
+		final var matches = NodeMatches.between(previous, next, cache);
+		degraded = matches.isDegraded();
+		new DeltaDOM<>(previous.getNode(0), next.getNode(0), matches, handler, NON_DESTRUCTIVE).find();
+		previous = next;
+	}
+
+}
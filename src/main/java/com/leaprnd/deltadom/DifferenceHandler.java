@@ -15,4 +15,34 @@ public interface DifferenceHandler<E extends Throwable> {
 	void onRemoveAttribute(Selector element, String name) throws E;
 	void onSetAttribute(Selector element, String name, String value) throws E;
 	void onSetValue(Position position, String newValue) throws E;
-}
\ No newline at end of file
+
+	default void onDeleteNodes(Position position, int count) throws E {
+		for (var index = 0; index < count; index ++) {
+			onDeleteNode(position);
+		}
+	}
+
+	default void onDeleteElement(Selector element, Position position) throws E {
+		onDeleteElement(element);
+	}
+
+	default void onAddClass(Selector element, String name, String newClassName) throws E {
+		onSetAttribute(element, "class", newClassName);
+	}
+
+	default void onRemoveClass(Selector element, String name, String newClassName) throws E {
+		onSetAttribute(element, "class", newClassName);
+	}
+
+	default void onSetStyleProperty(Selector element, String property, String value, String newStyle) throws E {
+		onSetAttribute(element, "style", newStyle);
+	}
+
+	default void onRemoveStyleProperty(Selector element, String property, String newStyle) throws E {
+		onSetAttribute(element, "style", newStyle);
+	}
+
+	default void onSpliceValue(Position position, int offset, int deleteCount, String text, String newValue) throws E {
+		onSetValue(position, newValue);
+	}
+}
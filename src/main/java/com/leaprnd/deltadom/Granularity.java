@@ -0,0 +1,6 @@
+package com.leaprnd.deltadom;
+
+public enum Granularity {
+	WHOLE_VALUES,
+	INCREMENTAL
+}
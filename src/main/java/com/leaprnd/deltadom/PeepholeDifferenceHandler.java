@@ -0,0 +1,236 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.selectors.Position;
+import com.leaprnd.deltadom.selectors.Selector;
+import org.w3c.dom.NamedNodeMap;
+
+import static java.lang.Math.min;
+
+public final class PeepholeDifferenceHandler<E extends Throwable> implements DifferenceHandler<E> {
+
+	private enum Family {
+		ATTRIBUTE,
+		CLASS,
+		STYLE_PROPERTY
+	}
+
+	private sealed interface Operation {}
+
+	private record DeleteNodes(Position position, int count, Selector element) implements Operation {}
+
+	private record InsertText(Position position, String value) implements Operation {}
+
+	private record InsertComment(Position position, String value) implements Operation {}
+
+	private record SetValue(Position position, String value) implements Operation {}
+
+	private record Assignment(Family family, Selector element, String name, String value, String attribute) implements Operation {
+		private boolean isOverwrittenBy(Family family, Selector element, String name) {
+			return this.family == family && this.name.equals(name) && this.element.equals(element);
+		}
+	}
+
+	private static final String ID_ATTRIBUTE = "id";
+
+	private final DifferenceHandler<E> handler;
+	private Operation pending = null;
+
+	public PeepholeDifferenceHandler(DifferenceHandler<E> handler) {
+		this.handler = handler;
+	}
+
+	@Override
+	public void onDeleteNode(Position position) throws E {
+		onDeleteNodes(position, 1);
+	}
+
+	@Override
+	public void onDeleteNodes(Position position, int count) throws E {
+		delete(position, count, null);
+	}
+
+	@Override
+	public void onDeleteElement(Selector element) throws E {
+		flush();
+		handler.onDeleteElement(element);
+	}
+
+	@Override
+	public void onDeleteElement(Selector element, Position position) throws E {
+		delete(position, 1, element);
+	}
+
+	private void delete(Position position, int count, Selector element) throws E {
+		if (pending instanceof final DeleteNodes deletion && deletion.position().parent().equals(position.parent())) {
+			final var offset = deletion.position().offset();
+			if (position.offset() == offset) {
+				pending = new DeleteNodes(deletion.position(), deletion.count() + count, null);
+				return;
+			}
+			if (position.offset() + count == offset) {
+				pending = new DeleteNodes(position, deletion.count() + count, null);
+				return;
+			}
+		}
+		flush();
+		pending = new DeleteNodes(position, count, element);
+	}
+
+	@Override
+	public void onInsertComment(Position parent, String content) throws E {
+		flush();
+		pending = new InsertComment(parent, content);
+	}
+
+	@Override
+	public void onInsertElement(Position parent, String tagName, NamedNodeMap attributes) throws E {
+		flush();
+		handler.onInsertElement(parent, tagName, attributes);
+	}
+
+	@Override
+	public void onInsertText(Position position, String text) throws E {
+		flush();
+		pending = new InsertText(position, text);
+	}
+
+	@Override
+	public void onMoveNode(Position oldPosition, Position newPosition) throws E {
+		flush();
+		handler.onMoveNode(oldPosition, newPosition);
+	}
+
+	@Override
+	public void onMoveElement(Selector element, Position newPosition) throws E {
+		flush();
+		handler.onMoveElement(element, newPosition);
+	}
+
+	@Override
+	public void onRemoveAttribute(Selector element, String name) throws E {
+		assign(Family.ATTRIBUTE, element, name, null, null);
+	}
+
+	@Override
+	public void onSetAttribute(Selector element, String name, String value) throws E {
+		assign(Family.ATTRIBUTE, element, name, value, value);
+	}
+
+	@Override
+	public void onAddClass(Selector element, String name, String newClassName) throws E {
+		assign(Family.CLASS, element, name, name, newClassName);
+	}
+
+	@Override
+	public void onRemoveClass(Selector element, String name, String newClassName) throws E {
+		assign(Family.CLASS, element, name, null, newClassName);
+	}
+
+	@Override
+	public void onSetStyleProperty(Selector element, String property, String value, String newStyle) throws E {
+		assign(Family.STYLE_PROPERTY, element, property, value, newStyle);
+	}
+
+	@Override
+	public void onRemoveStyleProperty(Selector element, String property, String newStyle) throws E {
+		assign(Family.STYLE_PROPERTY, element, property, null, newStyle);
+	}
+
+	@Override
+	public void onSetValue(Position position, String newValue) throws E {
+		if (pending instanceof final InsertText insertion && insertion.position().equals(position)) {
+			pending = new InsertText(position, newValue);
+		} else if (pending instanceof final InsertComment insertion && insertion.position().equals(position)) {
+			pending = new InsertComment(position, newValue);
+		} else {
+			if (!(pending instanceof final SetValue update && update.position().equals(position))) {
+				flush();
+			}
+			pending = new SetValue(position, newValue);
+		}
+	}
+
+	@Override
+	public void onSpliceValue(Position position, int offset, int deleteCount, String text, String newValue) throws E {
+		if (pending instanceof final InsertText insertion && insertion.position().equals(position) && offset <= insertion.value().length()) {
+			pending = new InsertText(position, splice(insertion.value(), offset, deleteCount, text));
+		} else if (pending instanceof final InsertComment insertion && insertion.position().equals(position) && offset <= insertion.value().length()) {
+			pending = new InsertComment(position, splice(insertion.value(), offset, deleteCount, text));
+		} else if (pending instanceof final SetValue update && update.position().equals(position) && offset <= update.value().length()) {
+			pending = new SetValue(position, splice(update.value(), offset, deleteCount, text));
+		} else {
+			flush();
+			handler.onSpliceValue(position, offset, deleteCount, text, newValue);
+		}
+	}
+
+	private static String splice(String value, int offset, int deleteCount, String text) {
+		return value.substring(0, offset) + text + value.substring(min(value.length(), offset + deleteCount));
+	}
+
+	private void assign(Family family, Selector element, String name, String value, String attribute) throws E {
+		if (!(pending instanceof final Assignment assignment && assignment.isOverwrittenBy(family, element, name))) {
+			flush();
+		}
+		if (family == Family.ATTRIBUTE && name.equals(ID_ATTRIBUTE)) {
+			send(new Assignment(family, element, name, value, attribute));
+		} else {
+			pending = new Assignment(family, element, name, value, attribute);
+		}
+	}
+
+	public void flush() throws E {
+		final var operation = pending;
+		if (operation != null) {
+			pending = null;
+			send(operation);
+		}
+	}
+
+	private void send(Operation operation) throws E {
+		if (operation instanceof final DeleteNodes deletion) {
+			if (deletion.element() != null) {
+				handler.onDeleteElement(deletion.element(), deletion.position());
+			} else if (deletion.count() == 1) {
+				handler.onDeleteNode(deletion.position());
+			} else {
+				handler.onDeleteNodes(deletion.position(), deletion.count());
+			}
+		} else if (operation instanceof final InsertText insertion) {
+			handler.onInsertText(insertion.position(), insertion.value());
+		} else if (operation instanceof final InsertComment insertion) {
+			handler.onInsertComment(insertion.position(), insertion.value());
+		} else if (operation instanceof final SetValue update) {
+			handler.onSetValue(update.position(), update.value());
+		} else if (operation instanceof final Assignment assignment) {
+			final var element = assignment.element();
+			final var name = assignment.name();
+			final var value = assignment.value();
+			final var attribute = assignment.attribute();
+			switch (assignment.family()) {
+				case ATTRIBUTE -> {
+					if (value == null) {
+						handler.onRemoveAttribute(element, name);
+					} else {
+						handler.onSetAttribute(element, name, value);
+					}
+				}
+				case CLASS -> {
+					if (value == null) {
+						handler.onRemoveClass(element, name, attribute);
+					} else {
+						handler.onAddClass(element, name, attribute);
+					}
+				}
+				case STYLE_PROPERTY -> {
+					if (value == null) {
+						handler.onRemoveStyleProperty(element, name, attribute);
+					} else {
+						handler.onSetStyleProperty(element, name, value, attribute);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.leaprnd.deltadom.binary;
+
+import com.leaprnd.deltadom.DifferenceHandler;
+import com.leaprnd.deltadom.selectors.Position;
+import com.leaprnd.deltadom.selectors.Selector;
+import org.w3c.dom.NamedNodeMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class BinaryDifferenceHandler implements DifferenceHandler<IOException>, Closeable {
+
+	private final BinaryWriter writer;
+	private final StringBuilder selector = new StringBuilder();
+
+	public BinaryDifferenceHandler(OutputStream stream) {
+		this.writer = new BinaryWriter(stream);
+	}
+
+	@Override
+	public void onDeleteNode(Position position) throws IOException {
+		writer.value(BinaryEventType.DELETE_NODE);
+		selector(position.parent());
+		writer.value(position.offset());
+	}
+
+	@Override
+	public void onDeleteNodes(Position position, int count) throws IOException {
+		writer.value(BinaryEventType.DELETE_NODES);
+		selector(position.parent());
+		writer.value(position.offset());
+		writer.value(count);
+	}
+
+	@Override
+	public void onDeleteElement(Selector element) throws IOException {
+		writer.value(BinaryEventType.DELETE_ELEMENT);
+		selector(element);
+	}
+
+	@Override
+	public void onInsertComment(Position parent, String content) throws IOException {
+		writer.value(BinaryEventType.INSERT_COMMENT);
+		selector(parent.parent());
+		writer.value(parent.offset());
+		writer.value(content);
+	}
+
+	@Override
+	public void onInsertElement(Position parent, String tagName, NamedNodeMap attributes) throws IOException {
+		writer.value(BinaryEventType.INSERT_ELEMENT);
+		selector(parent.parent());
+		writer.value(parent.offset());
+		writer.name(tagName);
+		final var length = attributes.getLength();
+		writer.value(length);
+		for (var index = 0; index < length; index ++) {
+			final var attribute = attributes.item(index);
+			final var name = attribute.getNodeName();
+			final var value = attribute.getNodeValue();
+			writer.name(name);
+			writer.name(value);
+		}
+	}
+
+	@Override
+	public void onInsertText(Position position, String text) throws IOException {
+		writer.value(BinaryEventType.INSERT_TEXT);
+		selector(position.parent());
+		writer.value(position.offset());
+		writer.value(text);
+	}
+
+	@Override
+	public void onMoveNode(Position oldPosition, Position newPosition) throws IOException {
+		writer.value(BinaryEventType.MOVE_NODE);
+		selector(oldPosition.parent());
+		writer.value(oldPosition.offset());
+		selector(newPosition.parent());
+		writer.value(newPosition.offset());
+	}
+
+	@Override
+	public void onMoveElement(Selector element, Position newPosition) throws IOException {
+		writer.value(BinaryEventType.MOVE_ELEMENT);
+		selector(element);
+		selector(newPosition.parent());
+		writer.value(newPosition.offset());
+	}
+
+	@Override
+	public void onRemoveAttribute(Selector element, String name) throws IOException {
+		writer.value(BinaryEventType.REMOVE_ATTRIBUTE);
+		selector(element);
+		writer.name(name);
+	}
+
+	@Override
+	public void onSetAttribute(Selector element, String name, String value) throws IOException {
+		writer.value(BinaryEventType.SET_ATTRIBUTE);
+		selector(element);
+		writer.name(name);
+		writer.name(value);
+	}
+
+	@Override
+	public void onAddClass(Selector element, String name, String newClassName) throws IOException {
+		writer.value(BinaryEventType.ADD_CLASS);
+		selector(element);
+		writer.name(name);
+	}
+
+	@Override
+	public void onRemoveClass(Selector element, String name, String newClassName) throws IOException {
+		writer.value(BinaryEventType.REMOVE_CLASS);
+		selector(element);
+		writer.name(name);
+	}
+
+	@Override
+	public void onSetStyleProperty(Selector element, String property, String value, String newStyle) throws IOException {
+		writer.value(BinaryEventType.SET_STYLE_PROPERTY);
+		selector(element);
+		writer.name(property);
+		writer.name(value);
+	}
+
+	@Override
+	public void onRemoveStyleProperty(Selector element, String property, String newStyle) throws IOException {
+		writer.value(BinaryEventType.REMOVE_STYLE_PROPERTY);
+		selector(element);
+		writer.name(property);
+	}
+
+	@Override
+	public void onSetValue(Position position, String newValue) throws IOException {
+		writer.value(BinaryEventType.SET_VALUE);
+		selector(position.parent());
+		writer.value(position.offset());
+		writer.value(newValue);
+	}
+
+	@Override
+	public void onSpliceValue(Position position, int offset, int deleteCount, String text, String newValue) throws IOException {
+		writer.value(BinaryEventType.SPLICE_VALUE);
+		selector(position.parent());
+		writer.value(position.offset());
+		writer.value(offset);
+		writer.value(deleteCount);
+		writer.value(text);
+	}
+
+	private void selector(Selector element) throws IOException {
+		selector.setLength(0);
+		element.appendTo(selector);
+		writer.name(selector.toString());
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+}
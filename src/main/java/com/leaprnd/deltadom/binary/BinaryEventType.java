@@ -0,0 +1,20 @@
+package com.leaprnd.deltadom.binary;
+
+enum BinaryEventType {
+	DELETE_NODE,
+	DELETE_ELEMENT,
+	INSERT_COMMENT,
+	INSERT_ELEMENT,
+	INSERT_TEXT,
+	MOVE_NODE,
+	MOVE_ELEMENT,
+	REMOVE_ATTRIBUTE,
+	SET_ATTRIBUTE,
+	SET_VALUE,
+	SPLICE_VALUE,
+	ADD_CLASS,
+	REMOVE_CLASS,
+	SET_STYLE_PROPERTY,
+	REMOVE_STYLE_PROPERTY,
+	DELETE_NODES
+}
@@ -0,0 +1,124 @@
+package com.leaprnd.deltadom.binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+
+import static java.lang.Character.isHighSurrogate;
+import static java.lang.Character.isLowSurrogate;
+import static java.lang.Character.toCodePoint;
+import static java.lang.Math.max;
+import static java.util.Arrays.copyOf;
+
+public class BinaryWriter implements Closeable {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int FLUSH_THRESHOLD = 8192;
+	private static final byte REPLACEMENT = '?';
+
+	private final OutputStream stream;
+	private final HashMap<String, Integer> indicesOfNames = new HashMap<>();
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+	private int size = 0;
+
+	public BinaryWriter(OutputStream stream) {
+		this.stream = stream;
+	}
+
+	public void value(Enum<?> value) throws IOException {
+		value(value.ordinal());
+	}
+
+	public void value(int value) throws IOException {
+		if (value < 0) {
+			throw new IllegalArgumentException();
+		}
+		ensureCapacity(5);
+		while ((value & ~0x7f) != 0) {
+			buffer[size ++] = (byte) (value & 0x7f | 0x80);
+			value >>>= 7;
+		}
+		buffer[size ++] = (byte) value;
+		flushIfFull();
+	}
+
+	public void name(String value) throws IOException {
+		final var index = indicesOfNames.get(value);
+		if (index == null) {
+			indicesOfNames.put(value, indicesOfNames.size());
+			value(0);
+			value(value);
+		} else {
+			value(index + 1);
+		}
+	}
+
+	public void value(String value) throws IOException {
+		final var length = value.length();
+		var bytes = 0;
+		for (var index = 0; index < length; index ++) {
+			final var character = value.charAt(index);
+			if (character < 0x80) {
+				bytes += 1;
+			} else if (character < 0x800) {
+				bytes += 2;
+			} else if (isHighSurrogate(character) && index + 1 < length && isLowSurrogate(value.charAt(index + 1))) {
+				bytes += 4;
+				index ++;
+			} else if (isHighSurrogate(character) || isLowSurrogate(character)) {
+				bytes += 1;
+			} else {
+				bytes += 3;
+			}
+		}
+		value(bytes);
+		ensureCapacity(bytes);
+		for (var index = 0; index < length; index ++) {
+			final var character = value.charAt(index);
+			if (character < 0x80) {
+				buffer[size ++] = (byte) character;
+			} else if (character < 0x800) {
+				buffer[size ++] = (byte) (0xc0 | character >> 6);
+				buffer[size ++] = (byte) (0x80 | character & 0x3f);
+			} else if (isHighSurrogate(character) && index + 1 < length && isLowSurrogate(value.charAt(index + 1))) {
+				final var codePoint = toCodePoint(character, value.charAt(++ index));
+				buffer[size ++] = (byte) (0xf0 | codePoint >> 18);
+				buffer[size ++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+				buffer[size ++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+				buffer[size ++] = (byte) (0x80 | codePoint & 0x3f);
+			} else if (isHighSurrogate(character) || isLowSurrogate(character)) {
+				buffer[size ++] = REPLACEMENT;
+			} else {
+				buffer[size ++] = (byte) (0xe0 | character >> 12);
+				buffer[size ++] = (byte) (0x80 | character >> 6 & 0x3f);
+				buffer[size ++] = (byte) (0x80 | character & 0x3f);
+			}
+		}
+		flushIfFull();
+	}
+
+	private void ensureCapacity(int bytes) {
+		if (size + bytes > buffer.length) {
+			buffer = copyOf(buffer, max(buffer.length * 2, size + bytes));
+		}
+	}
+
+	private void flushIfFull() throws IOException {
+		if (size >= FLUSH_THRESHOLD) {
+			flush();
+		}
+	}
+
+	public void flush() throws IOException {
+		stream.write(buffer, 0, size);
+		size = 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+		stream.flush();
+	}
+
+}
@@ -3,37 +3,52 @@ package com.leaprnd.deltadom.json;
 import com.leaprnd.deltadom.DifferenceHandler;
 import com.leaprnd.deltadom.selectors.Position;
 import com.leaprnd.deltadom.selectors.Selector;
+import com.leaprnd.deltadom.selectors.SelectorReferences;
 import org.w3c.dom.NamedNodeMap;
 
 import java.io.Closeable;
 import java.io.IOException;
 
+import static com.leaprnd.deltadom.selectors.SelectorReferences.NONE;
+
 public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Closeable {
 
 	private final JSONWriter.ArrayWriter writer;
+	private final SelectorReferences references;
 
 	public JSONDifferenceHandler(Appendable writer) throws IOException {
+		this(writer, false);
+	}
+
+	public JSONDifferenceHandler(Appendable writer, boolean useReferences) throws IOException {
 		this.writer = new JSONWriter(writer).array();
+		this.references = useReferences ? new SelectorReferences() : null;
 	}
 
 	@Override
 	public void onDeleteNode(Position position) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.DELETE_NODE);
-			try (final var valueWriter = arrayWriter.value()) {
-				position.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, position.parent());
 			arrayWriter.value(position.offset());
 		}
 	}
 
+	@Override
+	public void onDeleteNodes(Position position, int count) throws IOException {
+		try (final var arrayWriter = writer.array()) {
+			arrayWriter.value(JSONEventType.DELETE_NODES);
+			selector(arrayWriter, position.parent());
+			arrayWriter.value(position.offset());
+			arrayWriter.value(count);
+		}
+	}
+
 	@Override
 	public void onDeleteElement(Selector element) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.DELETE_ELEMENT);
-			try (final var valueWriter = arrayWriter.value()) {
-				element.appendTo(valueWriter);
-			}
+			selector(arrayWriter, element);
 		}
 	}
 
@@ -41,9 +56,7 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onInsertComment(Position parent, String content) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.INSERT_COMMENT);
-			try (final var valueWriter = arrayWriter.value()) {
-				parent.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, parent.parent());
 			arrayWriter.value(parent.offset());
 			arrayWriter.value(content);
 		}
@@ -53,9 +66,7 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onInsertElement(Position parent, String tagName, NamedNodeMap attributes) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.INSERT_ELEMENT);
-			try (final var valueWriter = arrayWriter.value()) {
-				parent.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, parent.parent());
 			arrayWriter.value(parent.offset());
 			arrayWriter.value(tagName);
 			final var length = attributes.getLength();
@@ -73,9 +84,7 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onInsertText(Position position, String text) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.INSERT_TEXT);
-			try (final var valueWriter = arrayWriter.value()) {
-				position.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, position.parent());
 			arrayWriter.value(position.offset());
 			arrayWriter.value(text);
 		}
@@ -85,13 +94,9 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onMoveNode(Position oldPosition, Position newPosition) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.MOVE_NODE);
-			try (final var valueWriter = arrayWriter.value()) {
-				oldPosition.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, oldPosition.parent());
 			arrayWriter.value(oldPosition.offset());
-			try (final var valueWriter = arrayWriter.value()) {
-				newPosition.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, newPosition.parent());
 			arrayWriter.value(newPosition.offset());
 		}
 	}
@@ -100,12 +105,8 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onMoveElement(Selector element, Position newPosition) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.MOVE_ELEMENT);
-			try (final var valueWriter = arrayWriter.value()) {
-				element.appendTo(valueWriter);
-			}
-			try (final var valueWriter = arrayWriter.value()) {
-				newPosition.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, element);
+			selector(arrayWriter, newPosition.parent());
 			arrayWriter.value(newPosition.offset());
 		}
 	}
@@ -114,9 +115,7 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onRemoveAttribute(Selector element, String name) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.REMOVE_ATTRIBUTE);
-			try (final var valueWriter = arrayWriter.value()) {
-				element.appendTo(valueWriter);
-			}
+			selector(arrayWriter, element);
 			arrayWriter.value(name);
 		}
 	}
@@ -125,26 +124,95 @@ public class JSONDifferenceHandler implements DifferenceHandler<IOException>, Cl
 	public void onSetAttribute(Selector element, String name, String value) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.SET_ATTRIBUTE);
-			try (final var valueWriter = arrayWriter.value()) {
-				element.appendTo(valueWriter);
-			}
+			selector(arrayWriter, element);
 			arrayWriter.value(name);
 			arrayWriter.value(value);
 		}
 	}
 
+	@Override
+	public void onAddClass(Selector element, String name, String newClassName) throws IOException {
+		try (final var arrayWriter = writer.array()) {
+			arrayWriter.value(JSONEventType.ADD_CLASS);
+			selector(arrayWriter, element);
+			arrayWriter.value(name);
+		}
+	}
+
+	@Override
+	public void onRemoveClass(Selector element, String name, String newClassName) throws IOException {
+		try (final var arrayWriter = writer.array()) {
+			arrayWriter.value(JSONEventType.REMOVE_CLASS);
+			selector(arrayWriter, element);
+			arrayWriter.value(name);
+		}
+	}
+
+	@Override
+	public void onSetStyleProperty(Selector element, String property, String value, String newStyle) throws IOException {
+		try (final var arrayWriter = writer.array()) {
+			arrayWriter.value(JSONEventType.SET_STYLE_PROPERTY);
+			selector(arrayWriter, element);
+			arrayWriter.value(property);
+			arrayWriter.value(value);
+		}
+	}
+
+	@Override
+	public void onRemoveStyleProperty(Selector element, String property, String newStyle) throws IOException {
+		try (final var arrayWriter = writer.array()) {
+			arrayWriter.value(JSONEventType.REMOVE_STYLE_PROPERTY);
+			selector(arrayWriter, element);
+			arrayWriter.value(property);
+		}
+	}
+
 	@Override
 	public void onSetValue(Position position, String newValue) throws IOException {
 		try (final var arrayWriter = writer.array()) {
 			arrayWriter.value(JSONEventType.SET_VALUE);
-			try (final var valueWriter = arrayWriter.value()) {
-				position.parent().appendTo(valueWriter);
-			}
+			selector(arrayWriter, position.parent());
 			arrayWriter.value(position.offset());
 			arrayWriter.value(newValue);
 		}
 	}
 
+	@Override
+	public void onSpliceValue(Position position, int offset, int deleteCount, String text, String newValue) throws IOException {
+		try (final var arrayWriter = writer.array()) {
+			arrayWriter.value(JSONEventType.SPLICE_VALUE);
+			selector(arrayWriter, position.parent());
+			arrayWriter.value(position.offset());
+			arrayWriter.value(offset);
+			arrayWriter.value(deleteCount);
+			arrayWriter.value(text);
+		}
+	}
+
+	private void selector(JSONWriter.ArrayWriter arrayWriter, Selector selector) throws IOException {
+		if (references != null) {
+			final var handle = references.getHandleOf(selector);
+			if (handle != NONE) {
+				arrayWriter.value(handle);
+				return;
+			}
+			references.define(selector);
+			final var handleOfParent = references.getHandleOfParentOf(selector);
+			if (handleOfParent != NONE) {
+				try (final var referenceWriter = arrayWriter.array()) {
+					referenceWriter.value(handleOfParent);
+					try (final var valueWriter = referenceWriter.value()) {
+						references.appendChildOf(selector, valueWriter);
+					}
+				}
+				return;
+			}
+		}
+		try (final var valueWriter = arrayWriter.value()) {
+			selector.appendTo(valueWriter);
+		}
+	}
+
 	@Override
 	public void close() throws IOException {
 		writer.close();
@@ -10,5 +10,11 @@ enum JSONEventType {
 	MOVE_ELEMENT,
 	REMOVE_ATTRIBUTE,
 	SET_ATTRIBUTE,
-	SET_VALUE
+	SET_VALUE,
+	SPLICE_VALUE,
+	ADD_CLASS,
+	REMOVE_CLASS,
+	SET_STYLE_PROPERTY,
+	REMOVE_STYLE_PROPERTY,
+	DELETE_NODES
 }
@@ -3,7 +3,7 @@ package com.leaprnd.deltadom.json;
 import java.io.Closeable;
 import java.io.IOException;
 
-import static java.lang.Integer.toHexString;
+import static java.util.Arrays.copyOf;
 
 public class JSONWriter {
 
@@ -11,9 +11,7 @@ public class JSONWriter {
 
 		private boolean comma = false;
 
-		private ArrayWriter() throws IOException {
-			writer.append('[');
-		}
+		private ArrayWriter() {}
 
 		public void value(Enum<?> value) throws IOException {
 			value(value.ordinal());
@@ -28,7 +26,17 @@ public class JSONWriter {
 
 		public void value(int value) throws IOException {
 			comma();
-			writer.append(Integer.toString(value));
+			if (value < 0) {
+				writer.append(Integer.toString(value));
+				return;
+			}
+			var divisor = 1;
+			while (value / divisor >= 10) {
+				divisor *= 10;
+			}
+			for (; divisor > 0; divisor /= 10) {
+				writer.append((char) ('0' + value / divisor % 10));
+			}
 		}
 
 		public ValueWriter value() throws IOException {
@@ -39,7 +47,7 @@ public class JSONWriter {
 
 		public ArrayWriter array() throws IOException {
 			comma();
-			return new ArrayWriter();
+			return open();
 		}
 
 		private void comma() throws IOException {
@@ -53,6 +61,7 @@ public class JSONWriter {
 		@Override
 		public void close() throws IOException {
 			writer.append(']');
+			depth --;
 		}
 
 	}
@@ -66,8 +75,20 @@ public class JSONWriter {
 
 		@Override
 		public Appendable append(CharSequence value, int start, int end) throws IOException {
+			var run = start;
 			for (var index = start; index < end; index ++) {
-				append(value.charAt(index));
+				final var character = value.charAt(index);
+				if (character != '"' && character != '\\' && !needsToBeEscaped(character)) {
+					continue;
+				}
+				if (run < index) {
+					writer.append(value, run, index);
+				}
+				append(character);
+				run = index + 1;
+			}
+			if (run < end) {
+				writer.append(value, run, end);
 			}
 			return this;
 		}
@@ -92,12 +113,11 @@ public class JSONWriter {
 					break;
 				default:
 					if (needsToBeEscaped(character)) {
-						final var hex = toHexString(character);
 						writer.append("\\u");
-						for (var padding = 0; padding < 4 - hex.length(); padding ++) {
-							writer.append('0');
-						}
-						writer.append(hex.toUpperCase());
+						writer.append(HEXADECIMAL_DIGITS.charAt(character >> 12));
+						writer.append(HEXADECIMAL_DIGITS.charAt(character >> 8 & 0xF));
+						writer.append(HEXADECIMAL_DIGITS.charAt(character >> 4 & 0xF));
+						writer.append(HEXADECIMAL_DIGITS.charAt(character & 0xF));
 					} else {
 						writer.append(character);
 					}
@@ -118,15 +138,33 @@ public class JSONWriter {
 
 	}
 
+	private static final String HEXADECIMAL_DIGITS = "0123456789ABCDEF";
+
 	private final Appendable writer;
 	private final ValueWriter valueWriter = new ValueWriter();
+	private ArrayWriter[] arrayWriters = new ArrayWriter[4];
+	private int depth = 0;
 
 	public JSONWriter(Appendable writer) {
 		this.writer = writer;
 	}
 
 	public ArrayWriter array() throws IOException {
-		return new ArrayWriter();
+		return open();
+	}
+
+	private ArrayWriter open() throws IOException {
+		if (depth == arrayWriters.length) {
+			arrayWriters = copyOf(arrayWriters, depth * 2);
+		}
+		var arrayWriter = arrayWriters[depth];
+		if (arrayWriter == null) {
+			arrayWriter = arrayWriters[depth] = new ArrayWriter();
+		}
+		arrayWriter.comma = false;
+		depth ++;
+		writer.append('[');
+		return arrayWriter;
 	}
 
 }
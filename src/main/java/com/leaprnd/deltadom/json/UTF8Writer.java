@@ -0,0 +1,110 @@
+package com.leaprnd.deltadom.json;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import static java.lang.Character.isHighSurrogate;
+import static java.lang.Character.isLowSurrogate;
+import static java.lang.Character.toCodePoint;
+
+public class UTF8Writer implements Appendable, Flushable {
+
+	private static final int DEFAULT_CAPACITY = 8192;
+	private static final byte REPLACEMENT = '?';
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final byte[] bytes;
+	private int size = 0;
+	private char highSurrogate = 0;
+
+	public UTF8Writer(WritableByteChannel channel) {
+		this(channel, DEFAULT_CAPACITY);
+	}
+
+	public UTF8Writer(WritableByteChannel channel, int capacity) {
+		if (capacity < 4) {
+			throw new IllegalArgumentException();
+		}
+		this.channel = channel;
+		this.bytes = new byte[capacity];
+		this.buffer = ByteBuffer.wrap(bytes);
+	}
+
+	@Override
+	public Appendable append(CharSequence value) throws IOException {
+		return append(value, 0, value.length());
+	}
+
+	@Override
+	public Appendable append(CharSequence value, int start, int end) throws IOException {
+		for (var index = start; index < end; index ++) {
+			final var character = value.charAt(index);
+			if (character < 0x80 && highSurrogate == 0) {
+				if (size == bytes.length) {
+					flushBuffer();
+				}
+				bytes[size ++] = (byte) character;
+			} else {
+				append(character);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public Appendable append(char character) throws IOException {
+		if (bytes.length - size < 4) {
+			flushBuffer();
+		}
+		if (highSurrogate != 0) {
+			final var high = highSurrogate;
+			highSurrogate = 0;
+			if (isLowSurrogate(character)) {
+				final var codePoint = toCodePoint(high, character);
+				bytes[size ++] = (byte) (0xf0 | codePoint >> 18);
+				bytes[size ++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+				bytes[size ++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+				bytes[size ++] = (byte) (0x80 | codePoint & 0x3f);
+				return this;
+			}
+			bytes[size ++] = REPLACEMENT;
+			return append(character);
+		}
+		if (character < 0x80) {
+			bytes[size ++] = (byte) character;
+		} else if (character < 0x800) {
+			bytes[size ++] = (byte) (0xc0 | character >> 6);
+			bytes[size ++] = (byte) (0x80 | character & 0x3f);
+		} else if (isHighSurrogate(character)) {
+			highSurrogate = character;
+		} else if (isLowSurrogate(character)) {
+			bytes[size ++] = REPLACEMENT;
+		} else {
+			bytes[size ++] = (byte) (0xe0 | character >> 12);
+			bytes[size ++] = (byte) (0x80 | character >> 6 & 0x3f);
+			bytes[size ++] = (byte) (0x80 | character & 0x3f);
+		}
+		return this;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (highSurrogate != 0) {
+			highSurrogate = 0;
+			append((char) REPLACEMENT);
+		}
+		flushBuffer();
+	}
+
+	private void flushBuffer() throws IOException {
+		buffer.position(0).limit(size);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		size = 0;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.leaprnd.deltadom.marriage;
+
+public interface AssignmentSolver {
+
+	@FunctionalInterface
+	interface Strengths {
+		float getStrengthOfPotentialMarriageBetween(int indexOfMan, int indexOfWoman);
+	}
+
+	@FunctionalInterface
+	interface Listener {
+		void onMarriageBetween(int indexOfMan, int indexOfWoman, float strengthOfMarriage);
+
+		default boolean isCancelled() {
+			return false;
+		}
+	}
+
+	void solve(int numberOfMen, int numberOfWomen, Strengths strengths, Listener listener);
+
+}
@@ -0,0 +1,20 @@
+package com.leaprnd.deltadom.marriage;
+
+public enum AssignmentStrategy implements AssignmentSolver {
+
+	STABLE_MARRIAGE(new StableMarriageAssignmentSolver()),
+	SORTED_EDGE_GREEDY(new GreedyAssignmentSolver()),
+	HUNGARIAN(new HungarianAssignmentSolver());
+
+	private final AssignmentSolver solver;
+
+	AssignmentStrategy(AssignmentSolver solver) {
+		this.solver = solver;
+	}
+
+	@Override
+	public void solve(int numberOfMen, int numberOfWomen, Strengths strengths, Listener listener) {
+		solver.solve(numberOfMen, numberOfWomen, strengths, listener);
+	}
+
+}
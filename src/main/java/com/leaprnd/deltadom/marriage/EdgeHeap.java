@@ -0,0 +1,99 @@
+package com.leaprnd.deltadom.marriage;
+
+import static java.lang.Float.floatToIntBits;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.max;
+import static java.util.Arrays.copyOf;
+
+final class EdgeHeap {
+
+	static final long NO_KEY = Long.MIN_VALUE;
+
+	private long[] keys;
+	private int size = 0;
+
+	EdgeHeap(int capacity) {
+		keys = new long[max(capacity, 1)];
+	}
+
+	void add(long key) {
+		if (size == keys.length) {
+			keys = copyOf(keys, size * 2);
+		}
+		keys[size ++] = key;
+	}
+
+	void heapify() {
+		heapify(keys, 0, size);
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	long peek() {
+		return keys[0];
+	}
+
+	void poll() {
+		keys[0] = keys[-- size];
+		siftDown(keys, 0, size, 0);
+	}
+
+	void replaceTop(long key) {
+		keys[0] = key;
+		siftDown(keys, 0, size, 0);
+	}
+
+	static long toKey(int edge, float strength) {
+		final var bits = floatToIntBits(strength);
+		return (long) (bits ^ (bits >> 31 & 0x7fffffff)) << 32 | ~edge & 0xffffffffL;
+	}
+
+	static long withEdge(long key, int edge) {
+		return key & 0xffffffff00000000L | ~edge & 0xffffffffL;
+	}
+
+	static int toEdge(long key) {
+		return ~(int) key;
+	}
+
+	static float toStrength(long key) {
+		final var bits = (int) (key >> 32);
+		return intBitsToFloat(bits ^ (bits >> 31 & 0x7fffffff));
+	}
+
+	static void heapify(long[] keys, int offset, int size) {
+		var index = size / 2;
+		while (--index >= 0) {
+			siftDown(keys, offset, size, index);
+		}
+	}
+
+	static long poll(long[] keys, int offset, int size) {
+		final var top = keys[offset];
+		keys[offset] = keys[offset + size - 1];
+		siftDown(keys, offset, size - 1, 0);
+		return top;
+	}
+
+	private static void siftDown(long[] keys, int offset, int size, int index) {
+		final var key = keys[offset + index];
+		while (true) {
+			var child = index * 2 + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && keys[offset + child + 1] > keys[offset + child]) {
+				child ++;
+			}
+			if (keys[offset + child] <= key) {
+				break;
+			}
+			keys[offset + index] = keys[offset + child];
+			index = child;
+		}
+		keys[offset + index] = key;
+	}
+
+}
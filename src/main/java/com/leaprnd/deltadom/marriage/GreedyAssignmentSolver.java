@@ -0,0 +1,94 @@
+package com.leaprnd.deltadom.marriage;
+
+import static com.leaprnd.deltadom.marriage.EdgeHeap.NO_KEY;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.heapify;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.poll;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.toEdge;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.toKey;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.toStrength;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.withEdge;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+final class GreedyAssignmentSolver implements AssignmentSolver {
+
+	@FunctionalInterface
+	interface Preferences {
+		long pollNextPreferenceOf(int man);
+	}
+
+	@Override
+	public void solve(int numberOfMen, int numberOfWomen, Strengths strengths, Listener listener) {
+		final var preferences = new long[numberOfMen][];
+		final var remainingPreferences = new int[numberOfMen];
+		final var preferredWomen = new int[numberOfMen];
+		final var men = new EdgeHeap(numberOfMen);
+		for (var man = 0; man < numberOfMen; man ++) {
+			if (listener.isCancelled()) {
+				return;
+			}
+			var preference = NO_KEY;
+			for (var woman = 0; woman < numberOfWomen; woman ++) {
+				preference = max(preference, toKey(woman, strengths.getStrengthOfPotentialMarriageBetween(man, woman)));
+			}
+			preferredWomen[man] = toEdge(preference);
+			men.add(withEdge(preference, man));
+		}
+		men.heapify();
+		marry(men, preferredWomen, numberOfWomen, min(numberOfMen, numberOfWomen), man -> {
+			var row = preferences[man];
+			if (row == null) {
+				row = preferences[man] = toPreferences(man, numberOfWomen, strengths);
+				remainingPreferences[man] = numberOfWomen - 1;
+			}
+			if (remainingPreferences[man] == 0) {
+				return NO_KEY;
+			}
+			return poll(row, 0, remainingPreferences[man] --);
+		}, listener);
+	}
+
+	private static long[] toPreferences(int man, int numberOfWomen, Strengths strengths) {
+		final var preferences = new long[numberOfWomen];
+		for (var woman = 0; woman < numberOfWomen; woman ++) {
+			preferences[woman] = toKey(woman, strengths.getStrengthOfPotentialMarriageBetween(man, woman));
+		}
+		heapify(preferences, 0, numberOfWomen);
+		poll(preferences, 0, numberOfWomen);
+		return preferences;
+	}
+
+	static void marry(
+		EdgeHeap men,
+		int[] preferredWomen,
+		int numberOfWomen,
+		int remaining,
+		Preferences preferences,
+		Listener listener
+	) {
+		final var marriedWomen = new boolean[numberOfWomen];
+		while (remaining > 0 && !men.isEmpty()) {
+			final var top = men.peek();
+			final var man = toEdge(top);
+			final var woman = preferredWomen[man];
+			if (marriedWomen[woman]) {
+				final var preference = preferences.pollNextPreferenceOf(man);
+				if (preference == NO_KEY) {
+					men.poll();
+				} else {
+					preferredWomen[man] = toEdge(preference);
+					men.replaceTop(withEdge(preference, man));
+				}
+				continue;
+			}
+			if (listener.isCancelled()) {
+				return;
+			}
+			men.poll();
+			marriedWomen[woman] = true;
+			remaining --;
+			listener.onMarriageBetween(man, woman, toStrength(top));
+		}
+	}
+
+}
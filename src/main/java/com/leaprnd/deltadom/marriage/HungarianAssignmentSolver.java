@@ -0,0 +1,99 @@
+package com.leaprnd.deltadom.marriage;
+
+import static java.lang.Double.POSITIVE_INFINITY;
+import static java.util.Arrays.fill;
+
+final class HungarianAssignmentSolver implements AssignmentSolver {
+
+	private static final double INFINITE_STRENGTH = 1e9;
+
+	@Override
+	public void solve(int numberOfMen, int numberOfWomen, Strengths strengths, Listener listener) {
+		if (numberOfMen <= numberOfWomen) {
+			solve(numberOfMen, numberOfWomen, strengths, listener, false);
+		} else {
+			solve(numberOfWomen, numberOfMen, (woman, man) -> strengths.getStrengthOfPotentialMarriageBetween(man, woman), listener, true);
+		}
+	}
+
+	private static void solve(int rows, int columns, Strengths strengths, Listener listener, boolean transposed) {
+		final var costs = new double[rows + 1][columns + 1];
+		for (var row = 1; row <= rows; row ++) {
+			for (var column = 1; column <= columns; column ++) {
+				costs[row][column] = -toFinite(strengths.getStrengthOfPotentialMarriageBetween(row - 1, column - 1));
+			}
+		}
+		final var rowPotentials = new double[rows + 1];
+		final var columnPotentials = new double[columns + 1];
+		final var assignments = new int[columns + 1];
+		final var ways = new int[columns + 1];
+		final var minimums = new double[columns + 1];
+		final var used = new boolean[columns + 1];
+		for (var row = 1; row <= rows; row ++) {
+			if (listener.isCancelled()) {
+				return;
+			}
+			assignments[0] = row;
+			var column = 0;
+			fill(minimums, POSITIVE_INFINITY);
+			fill(used, false);
+			do {
+				used[column] = true;
+				final var assignedRow = assignments[column];
+				var delta = POSITIVE_INFINITY;
+				var nextColumn = 0;
+				for (var candidate = 1; candidate <= columns; candidate ++) {
+					if (used[candidate]) {
+						continue;
+					}
+					final var reduced = costs[assignedRow][candidate] - rowPotentials[assignedRow] - columnPotentials[candidate];
+					if (reduced < minimums[candidate]) {
+						minimums[candidate] = reduced;
+						ways[candidate] = column;
+					}
+					if (minimums[candidate] < delta) {
+						delta = minimums[candidate];
+						nextColumn = candidate;
+					}
+				}
+				for (var candidate = 0; candidate <= columns; candidate ++) {
+					if (used[candidate]) {
+						rowPotentials[assignments[candidate]] += delta;
+						columnPotentials[candidate] -= delta;
+					} else {
+						minimums[candidate] -= delta;
+					}
+				}
+				column = nextColumn;
+			} while (assignments[column] != 0);
+			do {
+				final var previousColumn = ways[column];
+				assignments[column] = assignments[previousColumn];
+				column = previousColumn;
+			} while (column != 0);
+		}
+		for (var column = 1; column <= columns; column ++) {
+			final var row = assignments[column];
+			if (row == 0) {
+				continue;
+			}
+			final var strength = strengths.getStrengthOfPotentialMarriageBetween(row - 1, column - 1);
+			if (transposed) {
+				listener.onMarriageBetween(column - 1, row - 1, strength);
+			} else {
+				listener.onMarriageBetween(row - 1, column - 1, strength);
+			}
+		}
+	}
+
+	private static double toFinite(float strength) {
+		if (strength > INFINITE_STRENGTH) {
+			return INFINITE_STRENGTH;
+		}
+		if (strength < -INFINITE_STRENGTH) {
+			return -INFINITE_STRENGTH;
+		}
+		return strength;
+	}
+
+}
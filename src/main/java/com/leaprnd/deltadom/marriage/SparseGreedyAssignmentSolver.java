@@ -0,0 +1,67 @@
+package com.leaprnd.deltadom.marriage;
+
+import com.leaprnd.deltadom.marriage.AssignmentSolver.Listener;
+
+import static com.leaprnd.deltadom.marriage.EdgeHeap.NO_KEY;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.heapify;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.poll;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.toEdge;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.toKey;
+import static com.leaprnd.deltadom.marriage.EdgeHeap.withEdge;
+import static com.leaprnd.deltadom.marriage.GreedyAssignmentSolver.marry;
+import static java.lang.Math.min;
+import static java.util.Arrays.copyOf;
+
+public final class SparseGreedyAssignmentSolver {
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	private final int numberOfMen;
+	private final int numberOfWomen;
+	private final long[][] preferences;
+	private final int[] remainingPreferences;
+
+	public SparseGreedyAssignmentSolver(int numberOfMen, int numberOfWomen) {
+		this.numberOfMen = numberOfMen;
+		this.numberOfWomen = numberOfWomen;
+		this.preferences = new long[numberOfMen][];
+		this.remainingPreferences = new int[numberOfMen];
+	}
+
+	public void addPotentialMarriage(int indexOfMan, int indexOfWoman, float strengthOfMarriage) {
+		var row = preferences[indexOfMan];
+		final var size = remainingPreferences[indexOfMan];
+		if (row == null) {
+			row = preferences[indexOfMan] = new long[INITIAL_CAPACITY];
+		} else if (size == row.length) {
+			row = preferences[indexOfMan] = copyOf(row, size * 2);
+		}
+		row[size] = toKey(indexOfWoman, strengthOfMarriage);
+		remainingPreferences[indexOfMan] = size + 1;
+	}
+
+	public void solve(Listener listener) {
+		final var preferredWomen = new int[numberOfMen];
+		final var men = new EdgeHeap(numberOfMen);
+		for (var man = 0; man < numberOfMen; man ++) {
+			final var size = remainingPreferences[man];
+			if (size == 0) {
+				continue;
+			}
+			final var row = preferences[man];
+			heapify(row, 0, size);
+			final var preference = poll(row, 0, size);
+			remainingPreferences[man] = size - 1;
+			preferredWomen[man] = toEdge(preference);
+			men.add(withEdge(preference, man));
+		}
+		men.heapify();
+		marry(men, preferredWomen, numberOfWomen, min(numberOfMen, numberOfWomen), man -> {
+			if (remainingPreferences[man] == 0) {
+				return NO_KEY;
+			}
+			return poll(preferences[man], 0, remainingPreferences[man] --);
+		}, listener);
+	}
+
+}
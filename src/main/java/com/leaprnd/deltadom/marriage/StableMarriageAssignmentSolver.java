@@ -0,0 +1,37 @@
+package com.leaprnd.deltadom.marriage;
+
+final class StableMarriageAssignmentSolver implements AssignmentSolver {
+
+	@Override
+	public void solve(int numberOfMen, int numberOfWomen, Strengths strengths, Listener listener) {
+		new StableMarriageProblemSolver() {
+
+			@Override
+			protected float getStrengthOfPotentialMarriageBetween(int indexOfMan, int indexOfWoman) {
+				return strengths.getStrengthOfPotentialMarriageBetween(indexOfMan, indexOfWoman);
+			}
+
+			@Override
+			protected int getNumberOfMen() {
+				return numberOfMen;
+			}
+
+			@Override
+			protected int getNumberOfWomen() {
+				return numberOfWomen;
+			}
+
+			@Override
+			protected void onMarriageBetween(int indexOfMan, int indexOfWoman, float strengthOfMarriage) {
+				listener.onMarriageBetween(indexOfMan, indexOfWoman, strengthOfMarriage);
+			}
+
+			@Override
+			protected boolean isCancelled() {
+				return listener.isCancelled();
+			}
+
+		}.run();
+	}
+
+}
@@ -25,7 +25,7 @@ public abstract class StableMarriageProblemSolver implements Runnable {
 		if (moreWomenThanMen) {
 			while (true) {
 				var bestMan = men.first();
-				if (bestMan < 0) {
+				if (bestMan < 0 || isCancelled()) {
 					return;
 				}
 				final var firstWoman = women.first();
@@ -47,7 +47,7 @@ public abstract class StableMarriageProblemSolver implements Runnable {
 		} else {
 			while (true) {
 				var bestWoman = women.first();
-				if (bestWoman < 0) {
+				if (bestWoman < 0 || isCancelled()) {
 					return;
 				}
 				final var firstMan = men.first();
@@ -137,4 +137,8 @@ public abstract class StableMarriageProblemSolver implements Runnable {
 
 	protected abstract void onMarriageBetween(int indexOfMan, int indexOfWoman, float strengthOfMarriage);
 
+	protected boolean isCancelled() {
+		return false;
+	}
+
 }
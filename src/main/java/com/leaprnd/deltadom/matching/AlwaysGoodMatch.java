@@ -14,8 +14,8 @@ enum AlwaysGoodMatch implements Calculator<Node>, MatcherFactory<Node> {
 	}
 
 	@Override
-	public Matcher<Node> newMatcher() {
-		return new SimilarityGrid<>(this);
+	public Matcher<Node> newMatcher(SnapshotPair snapshots) {
+		return new SimilarityGrid<>(this, snapshots);
 	}
 
 }
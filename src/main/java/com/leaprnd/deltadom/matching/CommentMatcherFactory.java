@@ -5,14 +5,11 @@ import org.w3c.dom.Comment;
 import static com.leaprnd.deltadom.Similarity.BAD_MATCH;
 import static com.leaprnd.deltadom.Similarity.GOOD_MATCH;
 
-enum CommentMatcherFactory implements MatcherFactory<Comment>, Calculator<Comment> {
+enum CommentMatcherFactory implements MatcherFactory<Comment> {
 
 	DEFAULT_COMMENT_MATCHER_FACTORY;
 
-	@Override
-	public float getSimilarityOf(Comment a, Comment b) {
-		final var valueOfA = a.getNodeValue();
-		final var valueOfB = b.getNodeValue();
+	private static float getSimilarityOf(String valueOfA, String valueOfB) {
 		if (valueOfA.equals(valueOfB)) {
 			return GOOD_MATCH;
 		} else {
@@ -21,8 +18,8 @@ enum CommentMatcherFactory implements MatcherFactory<Comment>, Calculator<Commen
 	}
 
 	@Override
-	public Matcher<Comment> newMatcher() {
-		return new SimilarityGrid<>(this);
+	public Matcher<Comment> newMatcher(SnapshotPair snapshots) {
+		return new SimilarityGrid<Comment>((a, b) -> getSimilarityOf(snapshots.getValue(a), snapshots.getValue(b)), snapshots);
 	}
 
 }
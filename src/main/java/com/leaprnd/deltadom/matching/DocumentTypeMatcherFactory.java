@@ -5,19 +5,16 @@ import org.w3c.dom.DocumentType;
 import static com.leaprnd.deltadom.Similarity.BAD_MATCH;
 import static com.leaprnd.deltadom.Similarity.GOOD_MATCH;
 
-enum DocumentTypeMatcherFactory implements MatcherFactory<DocumentType>, Calculator<DocumentType> {
+enum DocumentTypeMatcherFactory implements MatcherFactory<DocumentType> {
 
 	DOCUMENT_TYPE_MATCHER_FACTORY;
 
 	@Override
-	public Matcher<DocumentType> newMatcher() {
-		return new SimilarityGrid<>(this);
+	public Matcher<DocumentType> newMatcher(SnapshotPair snapshots) {
+		return new SimilarityGrid<DocumentType>((a, b) -> getSimilarityOf(snapshots.getName(a), snapshots.getName(b)), snapshots);
 	}
 
-	@Override
-	public float getSimilarityOf(DocumentType a, DocumentType b) {
-		final var nameOfA = a.getNodeName();
-		final var nameOfB = b.getNodeName();
+	private static float getSimilarityOf(String nameOfA, String nameOfB) {
 		if (nameOfA.equals(nameOfB)) {
 			return GOOD_MATCH;
 		} else {
@@ -3,13 +3,15 @@ package com.leaprnd.deltadom.matching;
 import org.w3c.dom.Element;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.leaprnd.deltadom.Similarity.BAD_MATCH;
 import static com.leaprnd.deltadom.Similarity.GOOD_MATCH;
 import static java.lang.Long.SIZE;
 import static java.lang.Long.bitCount;
 
-class ElementCalculator implements Calculator<Element> {
+class ElementCalculator implements Calculator<Element>, Fingerprinter<Element> {
 
 	public static final String ID_ATTRIBUTE = "id";
 	public static final String IS_ATTRIBUTE = "is";
@@ -17,28 +19,44 @@ class ElementCalculator implements Calculator<Element> {
 	private static final int LONGS = 16;
 	private static final int BITS = LONGS * SIZE;
 
-	private final HashMap<Element, Spec> specs = new HashMap<>();
+	private final List<String> keyAttributes;
+	private final Map<Element, Spec> xSpecs;
+	private final Map<Element, Spec> ySpecs;
+	private final SnapshotPair snapshots;
 
-	private static class Spec {
+	ElementCalculator(SnapshotPair snapshots) {
+		this(List.of(), new HashMap<>(), new HashMap<>(), snapshots);
+	}
+
+	ElementCalculator(List<String> keyAttributes, Map<Element, Spec> xSpecs, Map<Element, Spec> ySpecs, SnapshotPair snapshots) {
+		this.keyAttributes = keyAttributes;
+		this.xSpecs = xSpecs;
+		this.ySpecs = ySpecs;
+		this.snapshots = snapshots;
+	}
+
+	List<String> getKeyAttributes() {
+		return keyAttributes;
+	}
+
+	static class Spec {
 
 		private final long[] bloom = new long[LONGS];
 
-		private Spec(Element element) {
-			final var attributes = element.getAttributes();
-			var index = attributes.getLength();
-			while (--index >= 0) {
-				final var attribute = attributes.item(index);
-				final var name = attribute.getNodeName();
-				final var value = attribute.getNodeValue();
+		private Spec(SnapshotPair snapshots, Element element, List<String> keyAttributes) {
+			snapshots.forEachAttributeOf(element, (name, value) -> {
 				switch (name) {
 					case ID_ATTRIBUTE:
 					case IS_ATTRIBUTE:
-						continue;
+						return;
 					default:
+						if (keyAttributes.contains(name)) {
+							return;
+						}
 						final var offset = (int) (unsign(name.hashCode() ^ value.hashCode()) % BITS);
 						bloom[offset / SIZE] |= 1L << (offset % SIZE);
 				}
-			}
+			});
 		}
 
 		private static long unsign(int integer) {
@@ -60,9 +78,43 @@ class ElementCalculator implements Calculator<Element> {
 
 	}
 
+	private Spec newSpec(Element element) {
+		return new Spec(snapshots, element, keyAttributes);
+	}
+
+	@Override
+	public long[] getFingerprintOfX(Element node) {
+		return xSpecs.computeIfAbsent(node, this::newSpec).bloom;
+	}
+
+	@Override
+	public long[] getFingerprintOfY(Element node) {
+		return ySpecs.computeIfAbsent(node, this::newSpec).bloom;
+	}
+
+	@Override
+	public void getSimilaritiesOf(long[] xFingerprint, long[] yFingerprints, float[] similarities) {
+		var offset = 0;
+		for (var yIndex = 0; yIndex < similarities.length; yIndex ++) {
+			int matches = 0;
+			int mismatches = 0;
+			for (var index = 0; index < LONGS; index ++) {
+				final var x = xFingerprint[index];
+				final var y = yFingerprints[offset ++];
+				matches += bitCount(x & y);
+				mismatches += bitCount(x ^ y);
+			}
+			if (mismatches == 0) {
+				similarities[yIndex] = GOOD_MATCH;
+			} else {
+				similarities[yIndex] = BAD_MATCH + matches * GOOD_MATCH / (matches + mismatches);
+			}
+		}
+	}
+
 	@Override
 	public float getSimilarityOf(Element a, Element b) {
-		return Spec.getSimilarityOf(specs.computeIfAbsent(a, Spec::new), specs.computeIfAbsent(b, Spec::new));
+		return Spec.getSimilarityOf(xSpecs.computeIfAbsent(a, this::newSpec), ySpecs.computeIfAbsent(b, this::newSpec));
 	}
 
 }
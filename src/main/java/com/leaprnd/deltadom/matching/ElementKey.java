@@ -2,14 +2,20 @@ package com.leaprnd.deltadom.matching;
 
 import org.w3c.dom.Element;
 
+import java.util.List;
+
 import static com.google.common.base.Strings.emptyToNull;
 import static com.leaprnd.deltadom.matching.ElementCalculator.ID_ATTRIBUTE;
 import static com.leaprnd.deltadom.matching.ElementCalculator.IS_ATTRIBUTE;
 
-public record ElementKey(String tagName, String is, String id) {
+public record ElementKey(String tagName, String is, String id, List<String> keys) {
 
 	public ElementKey(Element node) {
-		this(node.getTagName(), node.getAttribute(IS_ATTRIBUTE), node.getAttribute(ID_ATTRIBUTE));
+		this(node, List.of());
+	}
+
+	public ElementKey(Element node, List<String> keyAttributes) {
+		this(node.getTagName(), node.getAttribute(IS_ATTRIBUTE), node.getAttribute(ID_ATTRIBUTE), getKeysOf(node, keyAttributes));
 	}
 
 	public ElementKey {
@@ -18,4 +24,28 @@ public record ElementKey(String tagName, String is, String id) {
 		id = emptyToNull(id);
 	}
 
+	static ElementKey of(SnapshotPair snapshots, Element node, List<String> keyAttributes) {
+		final var id = snapshots.getAttribute(node, ID_ATTRIBUTE);
+		final var is = snapshots.getAttribute(node, IS_ATTRIBUTE);
+		if (keyAttributes.isEmpty() || !id.isEmpty()) {
+			return new ElementKey(snapshots.getName(node), is, id, List.of());
+		}
+		final var keys = new String[keyAttributes.size()];
+		for (var index = 0; index < keys.length; index ++) {
+			keys[index] = snapshots.getAttribute(node, keyAttributes.get(index));
+		}
+		return new ElementKey(snapshots.getName(node), is, id, List.of(keys));
+	}
+
+	private static List<String> getKeysOf(Element node, List<String> keyAttributes) {
+		if (keyAttributes.isEmpty() || !node.getAttribute(ID_ATTRIBUTE).isEmpty()) {
+			return List.of();
+		}
+		final var keys = new String[keyAttributes.size()];
+		for (var index = 0; index < keys.length; index ++) {
+			keys[index] = node.getAttribute(keyAttributes.get(index));
+		}
+		return List.of(keys);
+	}
+
 }
@@ -5,19 +5,21 @@ import org.w3c.dom.Element;
 class ElementMatcher extends MultiplexingMatcher<ElementKey, Element> {
 
 	private final ElementCalculator calculator;
+	private final SnapshotPair snapshots;
 
-	ElementMatcher(ElementCalculator calculator) {
+	ElementMatcher(ElementCalculator calculator, SnapshotPair snapshots) {
 		this.calculator = calculator;
+		this.snapshots = snapshots;
 	}
 
 	@Override
 	protected ElementKey getKeyOf(Element node) {
-		return new ElementKey(node);
+		return ElementKey.of(snapshots, node, calculator.getKeyAttributes());
 	}
 
 	@Override
 	protected Matcher<Element> delegate() {
-		return new SimilarityGrid<>(calculator);
+		return new SimilarityGrid<>(calculator, calculator, snapshots);
 	}
 
 }
@@ -1,10 +1,25 @@
 package com.leaprnd.deltadom.matching;
 
+import com.leaprnd.deltadom.matching.ElementCalculator.Spec;
 import org.w3c.dom.Element;
 
-class ElementMatcherFactory extends ElementCalculator implements MatcherFactory<Element> {
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+record ElementMatcherFactory(
+	List<String> keyAttributes,
+	Map<Element, Spec> xSpecs,
+	Map<Element, Spec> ySpecs
+) implements MatcherFactory<Element> {
+
+	ElementMatcherFactory(List<String> keyAttributes) {
+		this(keyAttributes, new HashMap<>(), new HashMap<>());
+	}
+
 	@Override
-	public Matcher<Element> newMatcher() {
-		return new ElementMatcher(this);
+	public Matcher<Element> newMatcher(SnapshotPair snapshots) {
+		return new ElementMatcher(new ElementCalculator(keyAttributes, xSpecs, ySpecs, snapshots), snapshots);
 	}
+
 }
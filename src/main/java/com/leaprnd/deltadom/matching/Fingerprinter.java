@@ -0,0 +1,9 @@
+package com.leaprnd.deltadom.matching;
+
+import org.w3c.dom.Node;
+
+interface Fingerprinter<T extends Node> {
+	long[] getFingerprintOfX(T node);
+	long[] getFingerprintOfY(T node);
+	void getSimilaritiesOf(long[] xFingerprint, long[] yFingerprints, float[] similarities);
+}
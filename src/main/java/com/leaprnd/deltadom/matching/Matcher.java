@@ -2,6 +2,8 @@ package com.leaprnd.deltadom.matching;
 
 import org.w3c.dom.Node;
 
+import java.util.List;
+
 interface Matcher<T extends Node> extends Calculator<T> {
 
 	default void addXs(Iterable<? extends T> xNodes) {
@@ -26,4 +28,6 @@ interface Matcher<T extends Node> extends Calculator<T> {
 
 	void findMatches(Calculator<Node> calculator, NodeMatches matches);
 
+	void collectGrids(List<SimilarityGrid<?>> grids);
+
 }
\ No newline at end of file
@@ -4,5 +4,5 @@ import org.w3c.dom.Node;
 
 @FunctionalInterface
 interface MatcherFactory<T extends Node> {
-	Matcher<T> newMatcher();
+	Matcher<T> newMatcher(SnapshotPair snapshots);
 }
@@ -0,0 +1,50 @@
+package com.leaprnd.deltadom.matching;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static java.lang.System.nanoTime;
+
+final class MatchingBudget {
+
+	private final AtomicLong remainingCells;
+	private final boolean hasDeadline;
+	private final long deadline;
+	private final BooleanSupplier cancellation;
+	private volatile boolean cancelled = false;
+	private volatile boolean exhausted = false;
+
+	MatchingBudget(MatchingOptions options) {
+		final var timeout = options.timeout();
+		this.remainingCells = new AtomicLong(options.maxCells());
+		this.hasDeadline = timeout != null;
+		this.deadline = hasDeadline ? nanoTime() + timeout.toNanos() : 0;
+		this.cancellation = options.cancellation();
+	}
+
+	boolean spend(long cells) {
+		if (exhausted || remainingCells.addAndGet(-cells) < 0 || isCancelled()) {
+			exhausted = true;
+			return false;
+		}
+		return true;
+	}
+
+	boolean isCancelled() {
+		if (cancelled || isOverdue()) {
+			cancelled = true;
+			exhausted = true;
+			return true;
+		}
+		return false;
+	}
+
+	boolean isExhausted() {
+		return exhausted;
+	}
+
+	private boolean isOverdue() {
+		return hasDeadline && nanoTime() - deadline > 0 || cancellation.getAsBoolean();
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.leaprnd.deltadom.matching;
+
+import com.leaprnd.deltadom.matching.ElementCalculator.Spec;
+import org.w3c.dom.Element;
+
+import java.util.HashMap;
+
+import static com.leaprnd.deltadom.matching.MatchingOptions.DEFAULT_MATCHING_OPTIONS;
+
+public final class MatchingCache {
+
+	private final MatchingOptions options;
+	private HashMap<Element, Spec> specs = new HashMap<>();
+
+	public MatchingCache() {
+		this(DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public MatchingCache(MatchingOptions options) {
+		this.options = options;
+	}
+
+	public MatchingOptions getOptions() {
+		return options;
+	}
+
+	HashMap<Element, Spec> getSpecs() {
+		return specs;
+	}
+
+	void setSpecs(HashMap<Element, Spec> specs) {
+		this.specs = specs;
+	}
+
+}
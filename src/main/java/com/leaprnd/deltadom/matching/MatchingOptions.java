@@ -0,0 +1,52 @@
+package com.leaprnd.deltadom.matching;
+
+import com.leaprnd.deltadom.marriage.AssignmentStrategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.leaprnd.deltadom.matching.MatchingStrategy.GLOBAL;
+
+public record MatchingOptions(
+	List<String> keyAttributes,
+	long maxCells,
+	Duration timeout,
+	BooleanSupplier cancellation,
+	MatchingStrategy strategy,
+	AssignmentStrategy assignmentStrategy
+) {
+
+	private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+	public static final MatchingOptions DEFAULT_MATCHING_OPTIONS = new MatchingOptions(List.of(), Long.MAX_VALUE, null, NEVER_CANCELLED, GLOBAL, null);
+
+	public MatchingOptions {
+		keyAttributes = List.copyOf(keyAttributes);
+	}
+
+	public MatchingOptions withKeyAttributes(String... keyAttributes) {
+		return new MatchingOptions(List.of(keyAttributes), maxCells, timeout, cancellation, strategy, assignmentStrategy);
+	}
+
+	public MatchingOptions withMaxCells(long maxCells) {
+		return new MatchingOptions(keyAttributes, maxCells, timeout, cancellation, strategy, assignmentStrategy);
+	}
+
+	public MatchingOptions withTimeout(Duration timeout) {
+		return new MatchingOptions(keyAttributes, maxCells, timeout, cancellation, strategy, assignmentStrategy);
+	}
+
+	public MatchingOptions withCancellation(BooleanSupplier cancellation) {
+		return new MatchingOptions(keyAttributes, maxCells, timeout, cancellation, strategy, assignmentStrategy);
+	}
+
+	public MatchingOptions withStrategy(MatchingStrategy strategy) {
+		return new MatchingOptions(keyAttributes, maxCells, timeout, cancellation, strategy, assignmentStrategy);
+	}
+
+	public MatchingOptions withAssignmentStrategy(AssignmentStrategy assignmentStrategy) {
+		return new MatchingOptions(keyAttributes, maxCells, timeout, cancellation, strategy, assignmentStrategy);
+	}
+
+}
@@ -0,0 +1,6 @@
+package com.leaprnd.deltadom.matching;
+
+public enum MatchingStrategy {
+	GLOBAL,
+	HIERARCHICAL
+}
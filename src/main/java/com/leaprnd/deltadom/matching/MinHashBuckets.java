@@ -0,0 +1,114 @@
+package com.leaprnd.deltadom.matching;
+
+import java.util.HashMap;
+
+import static java.lang.Long.SIZE;
+import static java.lang.Long.numberOfTrailingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+final class MinHashBuckets {
+
+	private static final int BANDS = 8;
+	private static final int ROWS = 2;
+	private static final int MAX_SCANNED_PER_BUCKET = 64;
+	static final int MAX_CANDIDATES = BANDS * MAX_SCANNED_PER_BUCKET;
+
+	private static final class Bucket {
+
+		private int[] members = new int[4];
+		private int size = 0;
+
+		private void add(int member) {
+			if (size == members.length) {
+				members = copyOf(members, size * 2);
+			}
+			members[size ++] = member;
+		}
+
+	}
+
+	private final HashMap<Long, Bucket> buckets = new HashMap<>();
+	private final int[] stamps;
+	private int stamp = 0;
+	private int[] candidates = new int[MAX_SCANNED_PER_BUCKET];
+
+	MinHashBuckets(long[][] fingerprints) {
+		stamps = new int[fingerprints.length];
+		for (var index = 0; index < fingerprints.length; index ++) {
+			for (final var key : toBandKeys(fingerprints[index])) {
+				buckets.computeIfAbsent(key, ignored -> new Bucket()).add(index);
+			}
+		}
+	}
+
+	int[] getCandidatesOf(long[] fingerprint, int rank, int numberOfRanks) {
+		stamp ++;
+		var size = 0;
+		for (final var key : toBandKeys(fingerprint)) {
+			final var bucket = buckets.get(key);
+			if (bucket == null) {
+				continue;
+			}
+			final int start;
+			final int end;
+			if (bucket.size <= MAX_SCANNED_PER_BUCKET) {
+				start = 0;
+				end = bucket.size;
+			} else {
+				final var middle = (int) ((long) rank * bucket.size / numberOfRanks);
+				start = max(0, min(bucket.size - MAX_SCANNED_PER_BUCKET, middle - MAX_SCANNED_PER_BUCKET / 2));
+				end = start + MAX_SCANNED_PER_BUCKET;
+			}
+			for (var index = start; index < end; index ++) {
+				final var member = bucket.members[index];
+				if (stamps[member] == stamp) {
+					continue;
+				}
+				stamps[member] = stamp;
+				if (size == candidates.length) {
+					candidates = copyOf(candidates, size * 2);
+				}
+				candidates[size ++] = member;
+			}
+		}
+		return copyOf(candidates, size);
+	}
+
+	private static long[] toBandKeys(long[] fingerprint) {
+		final var minimums = new int[BANDS * ROWS];
+		fill(minimums, Integer.MAX_VALUE);
+		for (var word = 0; word < fingerprint.length; word ++) {
+			var bits = fingerprint[word];
+			while (bits != 0) {
+				final var bit = word * SIZE + numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				for (var row = 0; row < minimums.length; row ++) {
+					minimums[row] = min(minimums[row], hash(row, bit));
+				}
+			}
+		}
+		final var keys = new long[BANDS];
+		for (var band = 0; band < BANDS; band ++) {
+			var key = (long) band;
+			for (var row = 0; row < ROWS; row ++) {
+				key = key * 0x9e3779b97f4a7c15L + minimums[band * ROWS + row];
+			}
+			keys[band] = key;
+		}
+		return keys;
+	}
+
+	private static int hash(int row, int bit) {
+		var hash = (long) bit << 32 | row;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return (int) hash & Integer.MAX_VALUE;
+	}
+
+}
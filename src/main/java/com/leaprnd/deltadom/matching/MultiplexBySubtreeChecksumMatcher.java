@@ -2,34 +2,68 @@ package com.leaprnd.deltadom.matching;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
-import com.leaprnd.deltadom.util.DepthFirstTreeWalker;
+import com.leaprnd.deltadom.marriage.AssignmentStrategy;
 import org.w3c.dom.Node;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import static com.leaprnd.deltadom.Similarity.GOOD_MATCH;
 import static com.leaprnd.deltadom.Similarity.IMPOSSIBLE_MATCH;
 import static com.leaprnd.deltadom.Similarity.PERFECT_MATCH;
 import static com.leaprnd.deltadom.matching.MatcherRemovalResult.Emptied;
 import static com.leaprnd.deltadom.matching.MatcherRemovalResult.NotFound.NOT_FOUND;
-import static com.leaprnd.deltadom.matching.NodeChecksum.computeChecksumsOfDescendantsOf;
+import static com.leaprnd.deltadom.matching.MatchingOptions.DEFAULT_MATCHING_OPTIONS;
+import static com.leaprnd.deltadom.matching.MatchingStrategy.HIERARCHICAL;
+import static org.w3c.dom.Node.ELEMENT_NODE;
 
 public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 
+	private static final long CELLS_PER_TASK = 1 << 14;
+
 	private final BiMap<Node, Node> perfect = HashBiMap.create();
 	private final HashMap<Node, Matcher<Node>> xMatchers = new HashMap<>();
 	private final HashMap<Node, Matcher<Node>> yMatchers = new HashMap<>();
-	private final HashSet<Matcher<Node>> matchers = new HashSet<>();
+	private final LinkedHashSet<Matcher<Node>> matchers = new LinkedHashSet<>();
 	private final Matcher<Node> fallback;
+	private final MatcherFactory<Node> factory;
+	private final Snapshot x;
+	private final Snapshot y;
+	private final SnapshotPair snapshots;
+	private final MatchingStrategy strategy;
+	private final AssignmentStrategy assignmentStrategy;
+	private final MatchingBudget budget;
 
 	public MultiplexBySubtreeChecksumMatcher(Node xRoot, Node yRoot, MatcherFactory<Node> factory) {
-		final var xChecksums = computeChecksumsOfDescendantsOf(xRoot);
-		final var yChecksums = computeChecksumsOfDescendantsOf(yRoot);
-		fallback = factory.newMatcher();
-		final var buffer = new LinkedList<Node>();
-		var xNode = xRoot;
+		this(Snapshot.of(xRoot), Snapshot.of(yRoot), factory);
+	}
+
+	public MultiplexBySubtreeChecksumMatcher(Snapshot x, Snapshot y, MatcherFactory<Node> factory) {
+		this(x, y, factory, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	MultiplexBySubtreeChecksumMatcher(Snapshot x, Snapshot y, MatcherFactory<Node> factory, MatchingOptions options) {
+		this.factory = factory;
+		this.x = x;
+		this.y = y;
+		this.snapshots = new SnapshotPair(x, y);
+		this.strategy = options.strategy();
+		this.assignmentStrategy = options.assignmentStrategy();
+		this.budget = new MatchingBudget(options);
+		final var xChecksums = x.newChecksums();
+		final var yChecksums = y.newChecksums();
+		fallback = factory.newMatcher(snapshots);
+		final var buffer = new int[x.size()];
+		var head = 0;
+		var tail = 0;
+		var xIndex = 0;
 		do {
+			final var xNode = x.getNode(xIndex);
 			final var checksum = xChecksums.getChecksumOf(xNode);
 			final boolean visitChildren;
 			if (checksum == null) {
@@ -44,7 +78,7 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 						if (duplicateYs == null) {
 							fallback.addX(uniqueX);
 						} else {
-							final var builder = factory.newMatcher();
+							final var builder = factory.newMatcher(snapshots);
 							builder.addX(uniqueX);
 							builder.addYs(duplicateYs);
 							matchers.add(builder);
@@ -56,10 +90,9 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 						visitChildren = true;
 					} else {
 						perfect.put(uniqueX, uniqueY);
-						for (final var descendantX : new DepthFirstTreeWalker(uniqueX)) {
-							if (descendantX == uniqueX) {
-								continue;
-							}
+						final var endOfX = x.getEndOf(xIndex);
+						for (var descendant = xIndex + 1; descendant < endOfX; descendant ++) {
+							final var descendantX = x.getNode(descendant);
 							if (xChecksums.remove(descendantX)) {
 								continue;
 							}
@@ -75,10 +108,10 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 								}
 							}
 						}
-						for (final var descendantY : new DepthFirstTreeWalker(uniqueY)) {
-							if (descendantY == uniqueY) {
-								continue;
-							}
+						final var indexOfY = y.indexOf(uniqueY);
+						final var endOfY = y.getEndOf(indexOfY);
+						for (var descendant = indexOfY + 1; descendant < endOfY; descendant ++) {
+							final var descendantY = y.getNode(descendant);
 							if (yChecksums.remove(descendantY)) {
 								continue;
 							}
@@ -101,7 +134,7 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 					if (yNodes == null) {
 						fallback.addXs(duplicateXs);
 					} else {
-						final var builder = factory.newMatcher();
+						final var builder = factory.newMatcher(snapshots);
 						builder.addXs(duplicateXs);
 						builder.addYs(yNodes);
 						matchers.add(builder);
@@ -116,17 +149,22 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 				}
 			}
 			if (visitChildren) {
-				final var child = xNode.getFirstChild();
-				if (child != null) {
-					buffer.add(child);
+				final var child = x.getFirstChild(xIndex);
+				if (child != Snapshot.NONE) {
+					buffer[tail ++] = child;
 				}
 			}
-			xNode = xNode.getNextSibling();
-			if (xNode == null) {
-				xNode = buffer.poll();
+			xIndex = x.getNextSibling(xIndex);
+			if (xIndex == Snapshot.NONE && head < tail) {
+				xIndex = buffer[head ++];
 			}
-		} while (xNode != null);
-		fallback.addYs(yChecksums.getNodes());
+		} while (xIndex != Snapshot.NONE);
+		for (var yIndex = 0; yIndex < y.size(); yIndex ++) {
+			final var yNode = y.getNode(yIndex);
+			if (yChecksums.getChecksumOf(yNode) != null) {
+				fallback.addY(yNode);
+			}
+		}
 	}
 
 	@Override
@@ -153,7 +191,72 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 	}
 
 	public NodeMatches findMatches() {
-		final var pairs = new NodeMatches();
+		final var pairs = findPerfectMatches();
+		for (final var matcher : matchers) {
+			matcher.findMatches(this, pairs);
+		}
+		if (strategy == HIERARCHICAL) {
+			findHierarchicalMatches(pairs);
+		} else {
+			fallback.findMatches(this, pairs);
+		}
+		if (budget.isExhausted()) {
+			addPositionalMatchesTo(pairs);
+		}
+		return pairs;
+	}
+
+	public NodeMatches findMatches(ForkJoinPool pool) {
+		final var grids = new ArrayList<SimilarityGrid<?>>();
+		for (final var matcher : matchers) {
+			matcher.collectGrids(grids);
+		}
+		if (strategy != HIERARCHICAL) {
+			fallback.collectGrids(grids);
+		}
+		final var tasks = new ArrayList<ForkJoinTask<NodeMatches>>();
+		var batch = new ArrayList<SimilarityGrid<?>>();
+		var cells = 0L;
+		for (final var grid : grids) {
+			if (!grid.reserveCellsFrom(budget)) {
+				continue;
+			}
+			batch.add(grid);
+			cells += grid.getNumberOfCells();
+			if (cells >= CELLS_PER_TASK) {
+				tasks.add(pool.submit(newTask(batch)));
+				batch = new ArrayList<>();
+				cells = 0L;
+			}
+		}
+		final var pairs = findPerfectMatches();
+		for (final var grid : batch) {
+			grid.findReservedMatches(this, pairs);
+		}
+		for (final var task : tasks) {
+			pairs.addAll(task.join());
+		}
+		if (strategy == HIERARCHICAL) {
+			findHierarchicalMatches(pairs);
+		}
+		if (budget.isExhausted()) {
+			addPositionalMatchesTo(pairs);
+		}
+		return pairs;
+	}
+
+	private Callable<NodeMatches> newTask(List<SimilarityGrid<?>> batch) {
+		return () -> {
+			final var pairs = new NodeMatches(budget, assignmentStrategy);
+			for (final var grid : batch) {
+				grid.findReservedMatches(this, pairs);
+			}
+			return pairs;
+		};
+	}
+
+	private NodeMatches findPerfectMatches() {
+		final var pairs = new NodeMatches(budget, assignmentStrategy);
 		for (final var entry : perfect.entrySet()) {
 			final var x = entry.getKey();
 			final var xParent = x.getParentNode();
@@ -163,11 +266,89 @@ public class MultiplexBySubtreeChecksumMatcher implements Calculator<Node> {
 			final var y = entry.getValue();
 			pairs.add(x, y, PERFECT_MATCH);
 		}
-		for (final var matcher : matchers) {
-			matcher.findMatches(this, pairs);
-		}
-		fallback.findMatches(this, pairs);
 		return pairs;
 	}
 
+	private void findHierarchicalMatches(NodeMatches pairs) {
+		final var leftovers = factory.newMatcher(snapshots);
+		findLocalMatchesBetween(0, 0, pairs);
+		for (var xIndex = 0; xIndex < x.size(); xIndex ++) {
+			final var xNode = x.getNode(xIndex);
+			if (perfect.containsKey(xNode)) {
+				xIndex = x.getEndOf(xIndex) - 1;
+				continue;
+			}
+			final var match = pairs.getAfterOf(xNode);
+			if (match != null) {
+				findLocalMatchesBetween(x.getFirstChild(xIndex), y.getFirstChild(y.indexOf(match.node())), pairs);
+			} else if (!xMatchers.containsKey(xNode)) {
+				leftovers.addX(xNode);
+			}
+		}
+		for (var yIndex = 0; yIndex < y.size(); yIndex ++) {
+			final var yNode = y.getNode(yIndex);
+			if (perfect.containsValue(yNode)) {
+				yIndex = y.getEndOf(yIndex) - 1;
+				continue;
+			}
+			if (pairs.getBeforeOf(yNode) == null && !yMatchers.containsKey(yNode)) {
+				leftovers.addY(yNode);
+			}
+		}
+		leftovers.findMatches(this, pairs);
+	}
+
+	private void findLocalMatchesBetween(int xChild, int yChild, NodeMatches pairs) {
+		final var local = factory.newMatcher(snapshots);
+		var hasXs = false;
+		for (; xChild != Snapshot.NONE; xChild = x.getNextSibling(xChild)) {
+			final var xNode = x.getNode(xChild);
+			if (pairs.getAfterOf(xNode) == null && !xMatchers.containsKey(xNode) && !perfect.containsKey(xNode)) {
+				local.addX(xNode);
+				hasXs = true;
+			}
+		}
+		if (!hasXs) {
+			return;
+		}
+		var hasYs = false;
+		for (; yChild != Snapshot.NONE; yChild = y.getNextSibling(yChild)) {
+			final var yNode = y.getNode(yChild);
+			if (pairs.getBeforeOf(yNode) == null && !yMatchers.containsKey(yNode) && !perfect.containsValue(yNode)) {
+				local.addY(yNode);
+				hasYs = true;
+			}
+		}
+		if (hasYs) {
+			local.findMatches(this, pairs);
+		}
+	}
+
+	private void addPositionalMatchesTo(NodeMatches pairs) {
+		for (var xIndex = 0; xIndex < x.size(); xIndex ++) {
+			final var match = pairs.getAfterOf(x.getNode(xIndex));
+			if (match == null || match.similarity() == PERFECT_MATCH) {
+				continue;
+			}
+			var yChild = match.node().getFirstChild();
+			var xChild = x.getFirstChild(xIndex);
+			while (xChild != Snapshot.NONE && yChild != null) {
+				final var xNode = x.getNode(xChild);
+				if (pairs.getAfterOf(xNode) == null && pairs.getBeforeOf(yChild) == null && isSameKind(xChild, yChild)) {
+					pairs.add(xNode, yChild, GOOD_MATCH);
+				}
+				xChild = x.getNextSibling(xChild);
+				yChild = yChild.getNextSibling();
+			}
+		}
+	}
+
+	private boolean isSameKind(int xIndex, Node y) {
+		final var type = x.getType(xIndex);
+		if (type != y.getNodeType()) {
+			return false;
+		}
+		return type != ELEMENT_NODE || x.getName(xIndex).equals(y.getNodeName());
+	}
+
 }
@@ -9,6 +9,8 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.Text;
 
+import java.util.List;
+
 import static com.leaprnd.deltadom.Similarity.IMPOSSIBLE_MATCH;
 import static java.lang.System.identityHashCode;
 import static org.w3c.dom.Node.COMMENT_NODE;
@@ -24,12 +26,13 @@ record MultiplexingByTypeMatcher(
 	Matcher<? super DocumentFragment> fragments,
 	Matcher<? super DocumentType> types,
 	Matcher<? super Element> elements,
-	Matcher<? super Text> texts
+	Matcher<? super Text> texts,
+	SnapshotPair snapshots
 ) implements Matcher<Node> {
 
 	@Override
 	public void addX(Node node) {
-		final var type = node.getNodeType();
+		final var type = snapshots.getType(node);
 		switch (type) {
 			case COMMENT_NODE -> comments.addX((Comment) node);
 			case DOCUMENT_NODE -> documents.addX((Document) node);
@@ -43,7 +46,7 @@ record MultiplexingByTypeMatcher(
 
 	@Override
 	public MatcherRemovalResult removeX(Node node) {
-		final var type = node.getNodeType();
+		final var type = snapshots.getType(node);
 		return switch (type) {
 			case COMMENT_NODE -> comments.removeX((Comment) node);
 			case DOCUMENT_NODE -> documents.removeX((Document) node);
@@ -57,7 +60,7 @@ record MultiplexingByTypeMatcher(
 
 	@Override
 	public void addY(Node node) {
-		final var type = node.getNodeType();
+		final var type = snapshots.getType(node);
 		switch (type) {
 			case COMMENT_NODE -> comments.addY((Comment) node);
 			case DOCUMENT_NODE -> documents.addY((Document) node);
@@ -71,7 +74,7 @@ record MultiplexingByTypeMatcher(
 
 	@Override
 	public MatcherRemovalResult removeY(Node node) {
-		final var type = node.getNodeType();
+		final var type = snapshots.getType(node);
 		return switch (type) {
 			case COMMENT_NODE -> comments.removeY((Comment) node);
 			case DOCUMENT_NODE -> documents.removeY((Document) node);
@@ -85,8 +88,8 @@ record MultiplexingByTypeMatcher(
 
 	@Override
 	public float getSimilarityOf(Node a, Node b) {
-		final var typeOfA = a.getNodeType();
-		final var typeOfB = b.getNodeType();
+		final var typeOfA = snapshots.getType(a);
+		final var typeOfB = snapshots.getType(b);
 		if (typeOfA == typeOfB) {
 			return switch (typeOfA) {
 				case COMMENT_NODE -> comments.getSimilarityOf((Comment) a, (Comment) b);
@@ -112,6 +115,16 @@ record MultiplexingByTypeMatcher(
 		texts.findMatches(calculator, matches);
 	}
 
+	@Override
+	public void collectGrids(List<SimilarityGrid<?>> grids) {
+		comments.collectGrids(grids);
+		documents.collectGrids(grids);
+		fragments.collectGrids(grids);
+		types.collectGrids(grids);
+		elements.collectGrids(grids);
+		texts.collectGrids(grids);
+	}
+
 	@Override
 	public boolean equals(Object that) {
 		return this == that;
@@ -17,14 +17,15 @@ record MultiplexingByTypeMatcherFactory(
 	MatcherFactory<? super Text> texts
 ) implements MatcherFactory<Node> {
 	@Override
-	public MultiplexingByTypeMatcher newMatcher() {
+	public MultiplexingByTypeMatcher newMatcher(SnapshotPair snapshots) {
 		return new MultiplexingByTypeMatcher(
-			comments.newMatcher(),
-			documents.newMatcher(),
-			fragments.newMatcher(),
-			types.newMatcher(),
-			elements.newMatcher(),
-			texts.newMatcher()
+			comments.newMatcher(snapshots),
+			documents.newMatcher(snapshots),
+			fragments.newMatcher(snapshots),
+			types.newMatcher(snapshots),
+			elements.newMatcher(snapshots),
+			texts.newMatcher(snapshots),
+			snapshots
 		);
 	}
 }
@@ -2,7 +2,9 @@ package com.leaprnd.deltadom.matching;
 
 import org.w3c.dom.Node;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.function.Function;
 
 import static com.leaprnd.deltadom.Similarity.IMPOSSIBLE_MATCH;
@@ -71,6 +73,17 @@ abstract class MultiplexingMatcher<K, T extends Node> implements Matcher<T>, Fun
 		}
 	}
 
+	@Override
+	public void collectGrids(List<SimilarityGrid<?>> grids) {
+		for (final var matcher : matchers.values()) {
+			matcher.collectGrids(grids);
+		}
+	}
+
+	Collection<Matcher<T>> getMatchers() {
+		return matchers.values();
+	}
+
 	protected abstract K getKeyOf(T node);
 	protected abstract Matcher<T> delegate();
 
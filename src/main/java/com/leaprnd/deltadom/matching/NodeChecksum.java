@@ -1,52 +1,14 @@
 package com.leaprnd.deltadom.matching;
 
-import com.leaprnd.deltadom.util.DepthFirstTreeWalker;
 import org.w3c.dom.Node;
 
 import static java.lang.Long.rotateLeft;
 import static java.lang.Long.toHexString;
-import static org.w3c.dom.Node.COMMENT_NODE;
-import static org.w3c.dom.Node.DOCUMENT_FRAGMENT_NODE;
-import static org.w3c.dom.Node.DOCUMENT_NODE;
-import static org.w3c.dom.Node.DOCUMENT_TYPE_NODE;
-import static org.w3c.dom.Node.ELEMENT_NODE;
-import static org.w3c.dom.Node.TEXT_NODE;
 
 class NodeChecksum {
 
 	static NodeChecksums computeChecksumsOfDescendantsOf(Node root) {
-		final var checksums = new NodeChecksums();
-		for (final var node : new DepthFirstTreeWalker(root)) {
-			final var type = node.getNodeType();
-			final var checksum = new NodeChecksum(type);
-			switch (type) {
-				case TEXT_NODE, COMMENT_NODE:
-					checksum.add(node.getNodeValue());
-					break;
-				case DOCUMENT_TYPE_NODE:
-					checksum.add(node.getNodeName());
-					break;
-				case ELEMENT_NODE:
-					checksum.add(node.getNodeName());
-					final var attributes = node.getAttributes();
-					int index = attributes.getLength();
-					while (--index >= 0) {
-						final var attribute = attributes.item(index);
-						final var attributeName = attribute.getNodeName();
-						checksum.add(attributeName);
-						final var attributeValue = attribute.getNodeValue();
-						checksum.add(attributeValue);
-					}
-				case DOCUMENT_NODE, DOCUMENT_FRAGMENT_NODE:
-					for (var child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
-						final var checksumOfChild = checksums.getChecksumOf(child);
-						checksum.add(checksumOfChild.h1, checksumOfChild.h2);
-					}
-			}
-			checksum.done();
-			checksums.put(node, checksum);
-		}
-		return checksums;
+		return Snapshot.of(root).newChecksums();
 	}
 
 	private static final int CHUNK_SIZE = 16;
@@ -60,7 +22,7 @@ class NodeChecksum {
 
 	NodeChecksum() {}
 
-	private NodeChecksum(short seed) {
+	NodeChecksum(short seed) {
 		h1 = seed;
 		h2 = seed;
 	}
@@ -139,6 +101,10 @@ class NodeChecksum {
 		length += CHUNK_SIZE;
 	}
 
+	void add(NodeChecksum child) {
+		add(child.h1, child.h2);
+	}
+
 	public void done() {
 		h1 ^= length;
 		h2 ^= length;
@@ -4,7 +4,7 @@ import org.w3c.dom.Node;
 
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import static java.util.Collections.singleton;
@@ -27,7 +27,7 @@ class NodeChecksums {
 			return;
 		}
 		verify(nodesByUniqueChecksum.remove(checksum, collision));
-		final var newNodes = new HashSet<Node>();
+		final var newNodes = new LinkedHashSet<Node>();
 		newNodes.add(node);
 		newNodes.add(collision);
 		verify(nodesByDuplicateChecksum.putIfAbsent(checksum, newNodes) == null);
@@ -1,33 +1,120 @@
 package com.leaprnd.deltadom.matching;
 
+import com.leaprnd.deltadom.marriage.AssignmentStrategy;
+import com.leaprnd.deltadom.matching.ElementCalculator.Spec;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.leaprnd.deltadom.Similarity.IMPOSSIBLE_MATCH;
 import static com.leaprnd.deltadom.Similarity.PERFECT_MATCH;
 import static com.leaprnd.deltadom.matching.AlwaysGoodMatch.ALWAYS_GOOD_MATCH;
 import static com.leaprnd.deltadom.matching.CommentMatcherFactory.DEFAULT_COMMENT_MATCHER_FACTORY;
 import static com.leaprnd.deltadom.matching.DocumentTypeMatcherFactory.DOCUMENT_TYPE_MATCHER_FACTORY;
+import static com.leaprnd.deltadom.matching.MatchingOptions.DEFAULT_MATCHING_OPTIONS;
 import static com.leaprnd.deltadom.matching.TextMatcherFactory.TEXT_MATCHER_FACTORY;
 
 public class NodeMatches {
 
 	public static NodeMatches between(Node xRoot, Node yRoot) {
+		return between(xRoot, yRoot, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public static NodeMatches between(Node xRoot, Node yRoot, MatchingOptions options) {
+		return between(Snapshot.of(xRoot), Snapshot.of(yRoot), options);
+	}
+
+	public static NodeMatches between(Node xRoot, Node yRoot, ForkJoinPool pool) {
+		return between(xRoot, yRoot, pool, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public static NodeMatches between(Node xRoot, Node yRoot, ForkJoinPool pool, MatchingOptions options) {
+		if (ownerDocumentOf(xRoot) == ownerDocumentOf(yRoot)) {
+			return between(Snapshot.of(xRoot, pool), Snapshot.of(yRoot, pool), pool, options);
+		}
+		final var y = pool.submit(() -> Snapshot.of(yRoot, pool));
+		final var x = Snapshot.of(xRoot, pool);
+		return between(x, y.join(), pool, options);
+	}
+
+	public static NodeMatches between(Snapshot x, Snapshot y, ForkJoinPool pool) {
+		return between(x, y, pool, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public static NodeMatches between(Snapshot x, Snapshot y, ForkJoinPool pool, MatchingOptions options) {
+		final var elements = new ElementMatcherFactory(options.keyAttributes(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+		return newMatcher(x, y, elements, options).findMatches(pool);
+	}
+
+	private static Document ownerDocumentOf(Node node) {
+		return node instanceof final Document document ? document : node.getOwnerDocument();
+	}
+
+	public static NodeMatches between(Snapshot x, Snapshot y) {
+		return between(x, y, DEFAULT_MATCHING_OPTIONS);
+	}
+
+	public static NodeMatches between(Snapshot x, Snapshot y, MatchingOptions options) {
+		final var elements = new ElementMatcherFactory(options.keyAttributes());
+		return newMatcher(x, y, elements, options).findMatches();
+	}
+
+	public static NodeMatches between(Snapshot x, Snapshot y, MatchingCache cache) {
+		final var ySpecs = new HashMap<Element, Spec>();
+		final var options = cache.getOptions();
+		final var elements = new ElementMatcherFactory(options.keyAttributes(), cache.getSpecs(), ySpecs);
+		final var matches = newMatcher(x, y, elements, options).findMatches();
+		cache.setSpecs(ySpecs);
+		return matches;
+	}
+
+	private static MultiplexBySubtreeChecksumMatcher newMatcher(
+		Snapshot x,
+		Snapshot y,
+		ElementMatcherFactory elements,
+		MatchingOptions options
+	) {
 		final var multiplexNodesByType = new MultiplexingByTypeMatcherFactory(
 			DEFAULT_COMMENT_MATCHER_FACTORY,
 			ALWAYS_GOOD_MATCH,
 			ALWAYS_GOOD_MATCH,
 			DOCUMENT_TYPE_MATCHER_FACTORY,
-			new ElementMatcherFactory(),
+			elements,
 			TEXT_MATCHER_FACTORY
 		);
-		return new MultiplexBySubtreeChecksumMatcher(xRoot, yRoot, multiplexNodesByType).findMatches();
+		return new MultiplexBySubtreeChecksumMatcher(x, y, multiplexNodesByType, options);
 	}
 
 	private final HashMap<Node, NodeMatch> forwards = new HashMap<>();
 	private final HashMap<Node, NodeMatch> backwards = new HashMap<>();
+	private final MatchingBudget budget;
+	private final AssignmentStrategy assignmentStrategy;
+
+	public NodeMatches() {
+		this(new MatchingBudget(DEFAULT_MATCHING_OPTIONS), DEFAULT_MATCHING_OPTIONS.assignmentStrategy());
+	}
+
+	NodeMatches(MatchingBudget budget, AssignmentStrategy assignmentStrategy) {
+		this.budget = budget;
+		this.assignmentStrategy = assignmentStrategy;
+	}
+
+	MatchingBudget getBudget() {
+		return budget;
+	}
+
+	AssignmentStrategy getAssignmentStrategy() {
+		return assignmentStrategy;
+	}
+
+	public boolean isDegraded() {
+		return budget.isExhausted();
+	}
 
 	public void add(Node x, Node y, float similarity) {
 		if (similarity == IMPOSSIBLE_MATCH) {
@@ -40,6 +127,13 @@ public class NodeMatches {
 		}
 	}
 
+	void addAll(NodeMatches other) {
+		for (final var entry : other.forwards.entrySet()) {
+			final var match = entry.getValue();
+			add(entry.getKey(), match.node(), match.similarity());
+		}
+	}
+
 	public NodeMatch getAfterOf(Node before) {
 		return forwards.get(before);
 	}
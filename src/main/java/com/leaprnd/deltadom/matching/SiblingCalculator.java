@@ -4,7 +4,8 @@ import org.w3c.dom.Node;
 
 record SiblingCalculator<T extends Node> (
 	Calculator<? super T> calculator,
-	Calculator<Node> siblingCalculator
+	Calculator<Node> siblingCalculator,
+	SnapshotPair snapshots
 ) implements Calculator<T> {
 
 	private static final float FACTOR = 0.1f;
@@ -13,9 +14,13 @@ record SiblingCalculator<T extends Node> (
 
 	@Override
 	public float getSimilarityOf(T a, T b) {
-		return calculator.getSimilarityOf(a, b) +
-			getBonusSimilarityOf(a.getPreviousSibling(), b.getPreviousSibling()) +
-			getBonusSimilarityOf(a.getNextSibling(), b.getNextSibling());
+		return addBonusSimilarityTo(calculator.getSimilarityOf(a, b), a, b);
+	}
+
+	public float addBonusSimilarityTo(float similarity, T a, T b) {
+		return similarity +
+			getBonusSimilarityOf(snapshots.getPreviousSibling(a), snapshots.getPreviousSibling(b)) +
+			getBonusSimilarityOf(snapshots.getNextSibling(a), snapshots.getNextSibling(b));
 	}
 
 	private float getBonusSimilarityOf(Node a, Node b) {
@@ -1,22 +1,41 @@
 package com.leaprnd.deltadom.matching;
 
-import com.leaprnd.deltadom.marriage.StableMarriageProblemSolver;
+import com.leaprnd.deltadom.marriage.AssignmentSolver;
+import com.leaprnd.deltadom.marriage.AssignmentStrategy;
+import com.leaprnd.deltadom.marriage.SparseGreedyAssignmentSolver;
 import org.w3c.dom.Node;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 
+import static com.leaprnd.deltadom.marriage.AssignmentStrategy.SORTED_EDGE_GREEDY;
+import static com.leaprnd.deltadom.marriage.AssignmentStrategy.STABLE_MARRIAGE;
 import static com.leaprnd.deltadom.matching.MatcherRemovalResult.Emptied;
 import static com.leaprnd.deltadom.matching.MatcherRemovalResult.NotFound.NOT_FOUND;
 import static com.leaprnd.deltadom.matching.MatcherRemovalResult.Removed.REMOVED;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
 
 class SimilarityGrid<T extends Node> implements Matcher<T> {
 
+	private static final int MAX_DENSE_CELLS = 1 << 18;
+	private static final int CANDIDATES_PER_NODE = 8;
+	private static final int MAX_STABLE_MARRIAGE_SIZE = 1 << 10;
+
 	private final Calculator<? super T> initializer;
-	private final HashSet<T> xSet = new HashSet<>();
-	private final HashSet<T> ySet = new HashSet<>();
+	private final Fingerprinter<? super T> fingerprinter;
+	private final SnapshotPair snapshots;
+	private final LinkedHashSet<T> xSet = new LinkedHashSet<>();
+	private final LinkedHashSet<T> ySet = new LinkedHashSet<>();
+
+	SimilarityGrid(Calculator<? super T> initializer, SnapshotPair snapshots) {
+		this(initializer, null, snapshots);
+	}
 
-	SimilarityGrid(Calculator<? super T> initializer) {
+	SimilarityGrid(Calculator<? super T> initializer, Fingerprinter<? super T> fingerprinter, SnapshotPair snapshots) {
 		this.initializer = initializer;
+		this.fingerprinter = fingerprinter;
+		this.snapshots = snapshots;
 	}
 
 	@Override
@@ -57,51 +76,235 @@ class SimilarityGrid<T extends Node> implements Matcher<T> {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
+	public void collectGrids(List<SimilarityGrid<?>> grids) {
+		if (xSet.isEmpty() || ySet.isEmpty()) {
+			return;
+		}
+		grids.add(this);
+	}
+
+	void addUnpairedTo(SimilarityGrid<T> grid) {
+		if (ySet.isEmpty()) {
+			grid.xSet.addAll(xSet);
+		} else if (xSet.isEmpty()) {
+			grid.ySet.addAll(ySet);
+		}
+	}
+
+	long getNumberOfCells() {
+		return (long) xSet.size() * ySet.size();
+	}
+
+	boolean reserveCellsFrom(MatchingBudget budget) {
+		final var xSize = xSet.size();
+		final var ySize = ySet.size();
+		if (xSize == 0 || ySize == 0 || xSize == 1 && ySize == 1) {
+			return true;
+		}
+		final var cells = getNumberOfCells();
+		if (fingerprinter != null && cells > MAX_DENSE_CELLS) {
+			return budget.spend((long) xSize * min(ySize, MinHashBuckets.MAX_CANDIDATES));
+		}
+		return budget.spend(cells);
+	}
+
+	@Override
 	public void findMatches(Calculator<Node> calculator, NodeMatches matches) {
+		if (reserveCellsFrom(matches.getBudget())) {
+			findReservedMatches(calculator, matches);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void findReservedMatches(Calculator<Node> calculator, NodeMatches matches) {
 		if (xSet.isEmpty() || ySet.isEmpty()) {
 			return;
 		}
+		if (xSet.size() == 1 && ySet.size() == 1) {
+			final var x = xSet.iterator().next();
+			final var y = ySet.iterator().next();
+			matches.add(x, y, initializer.getSimilarityOf(x, y));
+			return;
+		}
 		final var x = (T[]) xSet.toArray(Node[]::new);
 		final var y = (T[]) ySet.toArray(Node[]::new);
-		final var siblingCalculator = new SiblingCalculator<T>(initializer, calculator);
+		final var siblingCalculator = new SiblingCalculator<T>(initializer, calculator, snapshots);
+		final var budget = matches.getBudget();
 		final var xLength = x.length;
 		final var yLength = y.length;
+		if (fingerprinter != null && (long) xLength * yLength > MAX_DENSE_CELLS) {
+			findSparseMatches(x, y, siblingCalculator, matches, budget);
+			return;
+		}
 		final var similarities = new float[xLength][yLength];
-		int xIndex = xLength;
+		final boolean filled;
+		if (fingerprinter == null) {
+			filled = fill(x, y, siblingCalculator, similarities, budget);
+		} else {
+			filled = fillWithFingerprints(x, y, siblingCalculator, similarities, budget);
+		}
+		if (!filled) {
+			return;
+		}
+		chooseSolverFor(matches.getAssignmentStrategy(), xLength, yLength).solve(
+			xLength,
+			yLength,
+			(man, woman) -> similarities[man][woman],
+			new AssignmentSolver.Listener() {
+
+				@Override
+				public void onMarriageBetween(int man, int woman, float similarity) {
+					matches.add(x[man], y[woman], similarity);
+				}
+
+				@Override
+				public boolean isCancelled() {
+					return budget.isCancelled();
+				}
+
+			}
+		);
+	}
+
+	private static <T extends Node> boolean fill(
+		T[] x,
+		T[] y,
+		SiblingCalculator<T> siblingCalculator,
+		float[][] similarities,
+		MatchingBudget budget
+	) {
+		int xIndex = x.length;
 		while (--xIndex >= 0) {
-			int yIndex = yLength;
+			if (budget.isCancelled()) {
+				return false;
+			}
+			int yIndex = y.length;
 			while (--yIndex >= 0) {
 				final var xNode = x[xIndex];
 				final var yNode = y[yIndex];
 				similarities[xIndex][yIndex] = siblingCalculator.getSimilarityOf(xNode, yNode);
 			}
 		}
-		new StableMarriageProblemSolver() {
+		return true;
+	}
 
-			@Override
-			protected float getStrengthOfPotentialMarriageBetween(int xIndex, int yIndex) {
-				return similarities[xIndex][yIndex];
+	private boolean fillWithFingerprints(
+		T[] x,
+		T[] y,
+		SiblingCalculator<T> siblingCalculator,
+		float[][] similarities,
+		MatchingBudget budget
+	) {
+		final var yLength = y.length;
+		final var firstFingerprint = fingerprinter.getFingerprintOfY(y[0]);
+		final var length = firstFingerprint.length;
+		final var yFingerprints = new long[yLength * length];
+		arraycopy(firstFingerprint, 0, yFingerprints, 0, length);
+		for (var yIndex = 1; yIndex < yLength; yIndex ++) {
+			arraycopy(fingerprinter.getFingerprintOfY(y[yIndex]), 0, yFingerprints, yIndex * length, length);
+		}
+		for (var xIndex = 0; xIndex < x.length; xIndex ++) {
+			if (budget.isCancelled()) {
+				return false;
+			}
+			final var xNode = x[xIndex];
+			final var row = similarities[xIndex];
+			fingerprinter.getSimilaritiesOf(fingerprinter.getFingerprintOfX(xNode), yFingerprints, row);
+			for (var yIndex = 0; yIndex < yLength; yIndex ++) {
+				row[yIndex] = siblingCalculator.addBonusSimilarityTo(row[yIndex], xNode, y[yIndex]);
 			}
+		}
+		return true;
+	}
 
-			@Override
-			protected int getNumberOfMen() {
-				return xLength;
+	private static AssignmentSolver chooseSolverFor(AssignmentStrategy strategy, int xLength, int yLength) {
+		if (strategy != null) {
+			return strategy;
+		}
+		if (min(xLength, yLength) <= MAX_STABLE_MARRIAGE_SIZE) {
+			return STABLE_MARRIAGE;
+		}
+		return SORTED_EDGE_GREEDY;
+	}
+
+	private void findSparseMatches(
+		T[] x,
+		T[] y,
+		SiblingCalculator<T> siblingCalculator,
+		NodeMatches matches,
+		MatchingBudget budget
+	) {
+		final var xLength = x.length;
+		final var yLength = y.length;
+		final var yFingerprints = new long[yLength][];
+		for (var yIndex = 0; yIndex < yLength; yIndex ++) {
+			yFingerprints[yIndex] = fingerprinter.getFingerprintOfY(y[yIndex]);
+		}
+		final var buckets = new MinHashBuckets(yFingerprints);
+		final var marriedXs = new boolean[xLength];
+		final var marriedYs = new boolean[yLength];
+		final var solver = new SparseGreedyAssignmentSolver(xLength, yLength);
+		final var bestYs = new int[CANDIDATES_PER_NODE];
+		final var bestSimilarities = new float[CANDIDATES_PER_NODE];
+		for (var xIndex = 0; xIndex < xLength; xIndex ++) {
+			final var xNode = x[xIndex];
+			final var candidates = buckets.getCandidatesOf(fingerprinter.getFingerprintOfX(xNode), xIndex, xLength);
+			if (budget.isCancelled()) {
+				break;
 			}
+			var size = 0;
+			for (final var yIndex : candidates) {
+				final var similarity = siblingCalculator.getSimilarityOf(xNode, y[yIndex]);
+				var slot = size < CANDIDATES_PER_NODE ? size ++ : CANDIDATES_PER_NODE;
+				while (slot > 0 && bestSimilarities[slot - 1] < similarity) {
+					if (slot < CANDIDATES_PER_NODE) {
+						bestYs[slot] = bestYs[slot - 1];
+						bestSimilarities[slot] = bestSimilarities[slot - 1];
+					}
+					slot --;
+				}
+				if (slot < CANDIDATES_PER_NODE) {
+					bestYs[slot] = yIndex;
+					bestSimilarities[slot] = similarity;
+				}
+			}
+			for (var index = 0; index < size; index ++) {
+				solver.addPotentialMarriage(xIndex, bestYs[index], bestSimilarities[index]);
+			}
+		}
+		solver.solve(new AssignmentSolver.Listener() {
 
 			@Override
-			protected int getNumberOfWomen() {
-				return yLength;
+			public void onMarriageBetween(int xIndex, int yIndex, float similarity) {
+				marriedXs[xIndex] = true;
+				marriedYs[yIndex] = true;
+				matches.add(x[xIndex], y[yIndex], similarity);
 			}
 
 			@Override
-			protected void onMarriageBetween(int xIndex, int yIndex, float similarity) {
-				final var xNode = x[xIndex];
-				final var yNode = y[yIndex];
-				matches.add(xNode, yNode, similarity);
+			public boolean isCancelled() {
+				return budget.isCancelled();
 			}
 
-		}.run();
+		});
+		if (budget.isCancelled()) {
+			return;
+		}
+		var yIndex = 0;
+		for (var xIndex = 0; xIndex < xLength; xIndex ++) {
+			if (marriedXs[xIndex]) {
+				continue;
+			}
+			while (yIndex < yLength && marriedYs[yIndex]) {
+				yIndex ++;
+			}
+			if (yIndex == yLength) {
+				return;
+			}
+			final var xNode = x[xIndex];
+			final var yNode = y[yIndex ++];
+			matches.add(xNode, yNode, siblingCalculator.getSimilarityOf(xNode, yNode));
+		}
 	}
 
 }
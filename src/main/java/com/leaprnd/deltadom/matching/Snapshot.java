@@ -0,0 +1,220 @@
+package com.leaprnd.deltadom.matching;
+
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Arrays.fill;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.w3c.dom.Node.COMMENT_NODE;
+import static org.w3c.dom.Node.DOCUMENT_TYPE_NODE;
+import static org.w3c.dom.Node.ELEMENT_NODE;
+import static org.w3c.dom.Node.TEXT_NODE;
+
+public final class Snapshot {
+
+	public static final int NONE = -1;
+
+	public static Snapshot of(Node root) {
+		return of(root, new SnapshotWriter());
+	}
+
+	public static Snapshot of(Node root, ForkJoinPool pool) {
+		return of(root, new SnapshotWriter(pool));
+	}
+
+	private static Snapshot of(Node root, SnapshotWriter writer) {
+		var node = root;
+		while (true) {
+			start(writer, node);
+			final var child = node.getFirstChild();
+			if (child != null) {
+				node = child;
+				continue;
+			}
+			while (true) {
+				writer.end();
+				if (node == root) {
+					return writer.toSnapshot();
+				}
+				final var sibling = node.getNextSibling();
+				if (sibling != null) {
+					node = sibling;
+					break;
+				}
+				node = node.getParentNode();
+			}
+		}
+	}
+
+	private static void start(SnapshotWriter writer, Node node) {
+		final var type = node.getNodeType();
+		switch (type) {
+			case TEXT_NODE, COMMENT_NODE -> writer.start(node, type, null, node.getNodeValue());
+			case DOCUMENT_TYPE_NODE -> writer.start(node, type, node.getNodeName(), null);
+			case ELEMENT_NODE -> {
+				writer.start(node, type, node.getNodeName(), null);
+				final var attributes = node.getAttributes();
+				final var length = attributes.getLength();
+				for (var index = 0; index < length; index ++) {
+					final var attribute = attributes.item(index);
+					writer.addAttribute(attribute.getNodeName(), attribute.getNodeValue());
+				}
+			}
+			default -> writer.start(node, type, null, null);
+		}
+	}
+
+	public static Snapshot parse(InputSource source) throws IOException, SAXException, ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var handler = new SnapshotHandler(document);
+		final var parser = SAXParserFactory.newInstance().newSAXParser();
+		parser.setProperty(LEXICAL_HANDLER_PROPERTY, handler);
+		parser.parse(source, handler);
+		return handler.getSnapshot();
+	}
+
+	private static final String LEXICAL_HANDLER_PROPERTY = "http://xml.org/sax/properties/lexical-handler";
+
+	private final Node[] nodes;
+	private final short[] types;
+	private final int[] parents;
+	private final int[] firstChildren;
+	private final int[] nextSiblings;
+	private final int[] previousSiblings;
+	private final int[] ends;
+	private final int[] names;
+	private final String[] values;
+	private final int[] attributeStarts;
+	private final int[] attributeNames;
+	private final String[] attributeValues;
+	private final String[] nameTable;
+	private final NodeChecksum[] checksums;
+	private HashMap<Node, Integer> indicesOfNodes;
+
+	Snapshot(
+		Node[] nodes,
+		short[] types,
+		int[] parents,
+		int[] firstChildren,
+		int[] nextSiblings,
+		int[] ends,
+		int[] names,
+		String[] values,
+		int[] attributeStarts,
+		int[] attributeNames,
+		String[] attributeValues,
+		String[] nameTable,
+		NodeChecksum[] checksums
+	) {
+		this.nodes = nodes;
+		this.types = types;
+		this.parents = parents;
+		this.firstChildren = firstChildren;
+		this.nextSiblings = nextSiblings;
+		this.previousSiblings = new int[nodes.length];
+		fill(previousSiblings, NONE);
+		for (var index = 0; index < nodes.length; index ++) {
+			final var nextSibling = nextSiblings[index];
+			if (nextSibling != NONE) {
+				previousSiblings[nextSibling] = index;
+			}
+		}
+		this.ends = ends;
+		this.names = names;
+		this.values = values;
+		this.attributeStarts = attributeStarts;
+		this.attributeNames = attributeNames;
+		this.attributeValues = attributeValues;
+		this.nameTable = nameTable;
+		this.checksums = checksums;
+	}
+
+	public int size() {
+		return nodes.length;
+	}
+
+	public Node getNode(int index) {
+		return nodes[index];
+	}
+
+	public int indexOf(Node node) {
+		if (indicesOfNodes == null) {
+			indicesOfNodes = new HashMap<>(nodes.length * 2);
+			for (var index = 0; index < nodes.length; index ++) {
+				indicesOfNodes.put(nodes[index], index);
+			}
+		}
+		final var index = indicesOfNodes.get(node);
+		return index == null ? NONE : index;
+	}
+
+	public short getType(int index) {
+		return types[index];
+	}
+
+	public int getParent(int index) {
+		return parents[index];
+	}
+
+	public int getFirstChild(int index) {
+		return firstChildren[index];
+	}
+
+	public int getNextSibling(int index) {
+		return nextSiblings[index];
+	}
+
+	public int getPreviousSibling(int index) {
+		return previousSiblings[index];
+	}
+
+	public int getEndOf(int index) {
+		return ends[index];
+	}
+
+	public String getName(int index) {
+		final var name = names[index];
+		return name == NONE ? null : nameTable[name];
+	}
+
+	public String getValue(int index) {
+		return values[index];
+	}
+
+	public int getFirstAttributeOf(int index) {
+		return attributeStarts[index];
+	}
+
+	public int getEndOfAttributesOf(int index) {
+		return attributeStarts[index + 1];
+	}
+
+	public String getAttributeName(int attribute) {
+		return nameTable[attributeNames[attribute]];
+	}
+
+	public String getAttributeValue(int attribute) {
+		return attributeValues[attribute];
+	}
+
+	NodeChecksum getChecksumOf(int index) {
+		return checksums[index];
+	}
+
+	NodeChecksums newChecksums() {
+		final var result = new NodeChecksums();
+		for (var index = 0; index < nodes.length; index ++) {
+			result.put(nodes[index], checksums[index]);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.leaprnd.deltadom.matching;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.DefaultHandler;
+
+import static org.w3c.dom.Node.CDATA_SECTION_NODE;
+import static org.w3c.dom.Node.COMMENT_NODE;
+import static org.w3c.dom.Node.DOCUMENT_NODE;
+import static org.w3c.dom.Node.DOCUMENT_TYPE_NODE;
+import static org.w3c.dom.Node.ELEMENT_NODE;
+import static org.w3c.dom.Node.PROCESSING_INSTRUCTION_NODE;
+import static org.w3c.dom.Node.TEXT_NODE;
+
+public class SnapshotHandler extends DefaultHandler implements LexicalHandler {
+
+	private final Document document;
+	private final SnapshotWriter writer = new SnapshotWriter();
+	private final StringBuilder text = new StringBuilder();
+	private Node parent;
+	private boolean insideOfDocumentType = false;
+	private boolean insideOfCharacterData = false;
+	private boolean strictErrorChecking;
+	private Snapshot snapshot;
+
+	public SnapshotHandler(Document document) {
+		this.document = document;
+	}
+
+	public Snapshot getSnapshot() {
+		if (snapshot == null) {
+			throw new IllegalStateException("The document has not ended yet!");
+		}
+		return snapshot;
+	}
+
+	@Override
+	public void startDocument() {
+		strictErrorChecking = document.getStrictErrorChecking();
+		document.setStrictErrorChecking(false);
+		parent = document;
+		writer.start(document, DOCUMENT_NODE, null, null);
+	}
+
+	@Override
+	public void endDocument() {
+		flushText();
+		writer.end();
+		document.setStrictErrorChecking(strictErrorChecking);
+		snapshot = writer.toSnapshot();
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qualifiedName, Attributes attributes) {
+		flushText();
+		final var element = document.createElement(qualifiedName);
+		final var length = attributes.getLength();
+		for (var index = 0; index < length; index ++) {
+			element.setAttribute(attributes.getQName(index), attributes.getValue(index));
+		}
+		parent.appendChild(element);
+		parent = element;
+		writer.start(element, ELEMENT_NODE, qualifiedName, null);
+		final var attributesOfElement = element.getAttributes();
+		for (var index = 0; index < length; index ++) {
+			final var attribute = attributesOfElement.item(index);
+			writer.addAttribute(attribute.getNodeName(), attribute.getNodeValue());
+		}
+	}
+
+	@Override
+	public void endElement(String uri, String localName, String qualifiedName) {
+		flushText();
+		writer.end();
+		parent = parent.getParentNode();
+	}
+
+	@Override
+	public void characters(char[] characters, int start, int length) {
+		if (insideOfDocumentType) {
+			return;
+		}
+		text.append(characters, start, length);
+	}
+
+	@Override
+	public void ignorableWhitespace(char[] characters, int start, int length) {
+		characters(characters, start, length);
+	}
+
+	@Override
+	public void processingInstruction(String target, String data) {
+		if (insideOfDocumentType) {
+			return;
+		}
+		flushText();
+		append(document.createProcessingInstruction(target, data), PROCESSING_INSTRUCTION_NODE, null);
+	}
+
+	@Override
+	public void startDTD(String name, String publicId, String systemId) {
+		final var documentType = document.getImplementation().createDocumentType(name, publicId, systemId);
+		document.appendChild(documentType);
+		writer.start(documentType, DOCUMENT_TYPE_NODE, name, null);
+		writer.end();
+		insideOfDocumentType = true;
+	}
+
+	@Override
+	public void endDTD() {
+		insideOfDocumentType = false;
+	}
+
+	@Override
+	public void startEntity(String name) {}
+
+	@Override
+	public void endEntity(String name) {}
+
+	@Override
+	public void startCDATA() {
+		flushText();
+		insideOfCharacterData = true;
+	}
+
+	@Override
+	public void endCDATA() {
+		final var value = text.toString();
+		text.setLength(0);
+		insideOfCharacterData = false;
+		append(document.createCDATASection(value), CDATA_SECTION_NODE, null);
+	}
+
+	@Override
+	public void comment(char[] characters, int start, int length) {
+		if (insideOfDocumentType) {
+			return;
+		}
+		flushText();
+		final var value = new String(characters, start, length);
+		append(document.createComment(value), COMMENT_NODE, value);
+	}
+
+	private void flushText() {
+		if (insideOfCharacterData || text.isEmpty()) {
+			return;
+		}
+		final var value = text.toString();
+		text.setLength(0);
+		append(document.createTextNode(value), TEXT_NODE, value);
+	}
+
+	private void append(Node node, short type, String value) {
+		parent.appendChild(node);
+		writer.start(node, type, null, value);
+		writer.end();
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.leaprnd.deltadom.matching;
+
+import org.w3c.dom.Node;
+
+import java.util.HashMap;
+import java.util.function.BiConsumer;
+
+final class SnapshotPair {
+
+	private final Snapshot x;
+	private final Snapshot y;
+	private final HashMap<Node, Integer> indices;
+
+	SnapshotPair(Snapshot x, Snapshot y) {
+		this.x = x;
+		this.y = y;
+		indices = new HashMap<>((x.size() + y.size()) * 2);
+		for (var index = 0; index < y.size(); index ++) {
+			indices.put(y.getNode(index), ~index);
+		}
+		for (var index = 0; index < x.size(); index ++) {
+			indices.put(x.getNode(index), index);
+		}
+	}
+
+	short getType(Node node) {
+		final var index = indexOf(node);
+		return snapshotOf(index).getType(toLocal(index));
+	}
+
+	String getName(Node node) {
+		final var index = indexOf(node);
+		return snapshotOf(index).getName(toLocal(index));
+	}
+
+	String getValue(Node node) {
+		final var index = indexOf(node);
+		return snapshotOf(index).getValue(toLocal(index));
+	}
+
+	String getAttribute(Node node, String name) {
+		final var index = indexOf(node);
+		final var snapshot = snapshotOf(index);
+		final var local = toLocal(index);
+		final var end = snapshot.getEndOfAttributesOf(local);
+		for (var attribute = snapshot.getFirstAttributeOf(local); attribute < end; attribute ++) {
+			if (snapshot.getAttributeName(attribute).equals(name)) {
+				return snapshot.getAttributeValue(attribute);
+			}
+		}
+		return "";
+	}
+
+	void forEachAttributeOf(Node node, BiConsumer<String, String> consumer) {
+		final var index = indexOf(node);
+		final var snapshot = snapshotOf(index);
+		final var local = toLocal(index);
+		final var end = snapshot.getEndOfAttributesOf(local);
+		for (var attribute = snapshot.getFirstAttributeOf(local); attribute < end; attribute ++) {
+			consumer.accept(snapshot.getAttributeName(attribute), snapshot.getAttributeValue(attribute));
+		}
+	}
+
+	Node getPreviousSibling(Node node) {
+		final var index = indexOf(node);
+		final var snapshot = snapshotOf(index);
+		return toNode(snapshot, snapshot.getPreviousSibling(toLocal(index)));
+	}
+
+	Node getNextSibling(Node node) {
+		final var index = indexOf(node);
+		final var snapshot = snapshotOf(index);
+		return toNode(snapshot, snapshot.getNextSibling(toLocal(index)));
+	}
+
+	private int indexOf(Node node) {
+		return indices.get(node);
+	}
+
+	private Snapshot snapshotOf(int index) {
+		return index >= 0 ? x : y;
+	}
+
+	private static int toLocal(int index) {
+		return index >= 0 ? index : ~index;
+	}
+
+	private static Node toNode(Snapshot snapshot, int index) {
+		return index == Snapshot.NONE ? null : snapshot.getNode(index);
+	}
+
+}
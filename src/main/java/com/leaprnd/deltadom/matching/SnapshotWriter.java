@@ -0,0 +1,246 @@
+package com.leaprnd.deltadom.matching;
+
+import org.w3c.dom.Node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.leaprnd.deltadom.matching.Snapshot.NONE;
+import static java.util.Arrays.copyOf;
+import static org.w3c.dom.Node.COMMENT_NODE;
+import static org.w3c.dom.Node.DOCUMENT_FRAGMENT_NODE;
+import static org.w3c.dom.Node.DOCUMENT_NODE;
+import static org.w3c.dom.Node.DOCUMENT_TYPE_NODE;
+import static org.w3c.dom.Node.ELEMENT_NODE;
+import static org.w3c.dom.Node.TEXT_NODE;
+
+final class SnapshotWriter {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int PARALLEL_THRESHOLD = 4096;
+
+	private final ForkJoinPool pool;
+
+	private Node[] nodes = new Node[INITIAL_CAPACITY];
+	private short[] types = new short[INITIAL_CAPACITY];
+	private int[] parents = new int[INITIAL_CAPACITY];
+	private int[] firstChildren = new int[INITIAL_CAPACITY];
+	private int[] lastChildren = new int[INITIAL_CAPACITY];
+	private int[] nextSiblings = new int[INITIAL_CAPACITY];
+	private int[] ends = new int[INITIAL_CAPACITY];
+	private int[] names = new int[INITIAL_CAPACITY];
+	private String[] values = new String[INITIAL_CAPACITY];
+	private int[] attributeStarts = new int[INITIAL_CAPACITY + 1];
+	private NodeChecksum[] checksums = new NodeChecksum[INITIAL_CAPACITY];
+	private int size = 0;
+
+	private int[] attributeNames = new int[INITIAL_CAPACITY];
+	private String[] attributeValues = new String[INITIAL_CAPACITY];
+	private int numberOfAttributes = 0;
+
+	private final HashMap<String, Integer> indicesOfNames = new HashMap<>();
+	private final ArrayList<String> nameTable = new ArrayList<>();
+
+	private int[] open = new int[INITIAL_CAPACITY];
+	private int depth = 0;
+
+	SnapshotWriter() {
+		this(null);
+	}
+
+	SnapshotWriter(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	public void start(Node node, short type, String name, String value) {
+		if (size == nodes.length) {
+			grow();
+		}
+		final var index = size ++;
+		nodes[index] = node;
+		types[index] = type;
+		firstChildren[index] = NONE;
+		lastChildren[index] = NONE;
+		nextSiblings[index] = NONE;
+		names[index] = name == null ? NONE : intern(name);
+		values[index] = value;
+		attributeStarts[index] = numberOfAttributes;
+		if (depth == 0) {
+			parents[index] = NONE;
+		} else {
+			final var parent = open[depth - 1];
+			parents[index] = parent;
+			if (lastChildren[parent] == NONE) {
+				firstChildren[parent] = index;
+			} else {
+				nextSiblings[lastChildren[parent]] = index;
+			}
+			lastChildren[parent] = index;
+		}
+		if (depth == open.length) {
+			open = copyOf(open, depth * 2);
+		}
+		open[depth ++] = index;
+	}
+
+	public void addAttribute(String name, String value) {
+		if (numberOfAttributes == attributeNames.length) {
+			attributeNames = copyOf(attributeNames, numberOfAttributes * 2);
+			attributeValues = copyOf(attributeValues, numberOfAttributes * 2);
+		}
+		attributeNames[numberOfAttributes] = intern(name);
+		attributeValues[numberOfAttributes] = value;
+		numberOfAttributes ++;
+	}
+
+	public void end() {
+		final var index = open[-- depth];
+		ends[index] = size;
+		if (pool == null) {
+			checksums[index] = computeChecksumOf(index);
+		}
+	}
+
+	private NodeChecksum computeChecksumOf(int index) {
+		final var type = types[index];
+		final var checksum = new NodeChecksum(type);
+		switch (type) {
+			case TEXT_NODE, COMMENT_NODE:
+				checksum.add(values[index]);
+				break;
+			case DOCUMENT_TYPE_NODE:
+				checksum.add(nameTable.get(names[index]));
+				break;
+			case ELEMENT_NODE:
+				checksum.add(nameTable.get(names[index]));
+				final var firstAttribute = attributeStarts[index];
+				var attribute = index + 1 < size ? attributeStarts[index + 1] : numberOfAttributes;
+				while (--attribute >= firstAttribute) {
+					checksum.add(nameTable.get(attributeNames[attribute]));
+					checksum.add(attributeValues[attribute]);
+				}
+			case DOCUMENT_NODE, DOCUMENT_FRAGMENT_NODE:
+				for (var child = firstChildren[index]; child != NONE; child = nextSiblings[child]) {
+					checksum.add(checksums[child]);
+				}
+		}
+		checksum.done();
+		return checksum;
+	}
+
+	private void computeChecksumsBetween(int start, int end) {
+		for (var index = end - 1; index >= start; index --) {
+			checksums[index] = computeChecksumOf(index);
+		}
+	}
+
+	private final class SubtreeTask extends RecursiveAction {
+
+		private final int index;
+
+		private SubtreeTask(int index) {
+			this.index = index;
+		}
+
+		@Override
+		protected void compute() {
+			final var tasks = new ArrayList<RecursiveAction>();
+			var start = NONE;
+			for (var child = firstChildren[index]; child != NONE; child = nextSiblings[child]) {
+				final var end = ends[child];
+				if (end - child >= PARALLEL_THRESHOLD) {
+					if (start != NONE) {
+						tasks.add(new RangeTask(start, child));
+						start = NONE;
+					}
+					tasks.add(new SubtreeTask(child));
+					continue;
+				}
+				if (start == NONE) {
+					start = child;
+				}
+				if (end - start >= PARALLEL_THRESHOLD) {
+					tasks.add(new RangeTask(start, end));
+					start = NONE;
+				}
+			}
+			invokeAll(tasks);
+			if (start != NONE) {
+				computeChecksumsBetween(start, ends[index]);
+			}
+			checksums[index] = computeChecksumOf(index);
+		}
+
+	}
+
+	private final class RangeTask extends RecursiveAction {
+
+		private final int start;
+		private final int end;
+
+		private RangeTask(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			computeChecksumsBetween(start, end);
+		}
+
+	}
+
+	public Snapshot toSnapshot() {
+		if (depth != 0) {
+			throw new IllegalStateException("Not every node has ended!");
+		}
+		attributeStarts[size] = numberOfAttributes;
+		if (pool != null && size > 0) {
+			if (size < PARALLEL_THRESHOLD) {
+				computeChecksumsBetween(0, size);
+			} else {
+				pool.invoke(new SubtreeTask(0));
+			}
+		}
+		return new Snapshot(
+			copyOf(nodes, size),
+			copyOf(types, size),
+			copyOf(parents, size),
+			copyOf(firstChildren, size),
+			copyOf(nextSiblings, size),
+			copyOf(ends, size),
+			copyOf(names, size),
+			copyOf(values, size),
+			copyOf(attributeStarts, size + 1),
+			copyOf(attributeNames, numberOfAttributes),
+			copyOf(attributeValues, numberOfAttributes),
+			nameTable.toArray(String[]::new),
+			copyOf(checksums, size)
+		);
+	}
+
+	private int intern(String name) {
+		return indicesOfNames.computeIfAbsent(name, key -> {
+			nameTable.add(key);
+			return nameTable.size() - 1;
+		});
+	}
+
+	private void grow() {
+		final var capacity = size * 2;
+		nodes = copyOf(nodes, capacity);
+		types = copyOf(types, capacity);
+		parents = copyOf(parents, capacity);
+		firstChildren = copyOf(firstChildren, capacity);
+		lastChildren = copyOf(lastChildren, capacity);
+		nextSiblings = copyOf(nextSiblings, capacity);
+		ends = copyOf(ends, capacity);
+		names = copyOf(names, capacity);
+		values = copyOf(values, capacity);
+		attributeStarts = copyOf(attributeStarts, capacity + 1);
+		checksums = copyOf(checksums, capacity);
+	}
+
+}
@@ -1,19 +1,50 @@
 package com.leaprnd.deltadom.matching;
 
+import org.w3c.dom.Node;
 import org.w3c.dom.Text;
 
+import java.util.List;
+
 import static com.leaprnd.deltadom.matching.AlwaysGoodMatch.ALWAYS_GOOD_MATCH;
 
 class TextMatcher extends MultiplexingMatcher<String, Text> {
 
+	private final SnapshotPair snapshots;
+
+	TextMatcher(SnapshotPair snapshots) {
+		this.snapshots = snapshots;
+	}
+
 	@Override
 	protected String getKeyOf(Text node) {
-		return node.getTextContent();
+		return snapshots.getValue(node);
 	}
 
 	@Override
 	protected Matcher<Text> delegate() {
-		return new SimilarityGrid<>(ALWAYS_GOOD_MATCH);
+		return new SimilarityGrid<>(ALWAYS_GOOD_MATCH, snapshots);
+	}
+
+	@Override
+	public void findMatches(Calculator<Node> calculator, NodeMatches matches) {
+		super.findMatches(calculator, matches);
+		newFuzzyGrid().findMatches(calculator, matches);
+	}
+
+	@Override
+	public void collectGrids(List<SimilarityGrid<?>> grids) {
+		super.collectGrids(grids);
+		newFuzzyGrid().collectGrids(grids);
+	}
+
+	@SuppressWarnings("unchecked")
+	private SimilarityGrid<Text> newFuzzyGrid() {
+		final var calculator = new TextShingleCalculator(snapshots);
+		final var grid = new SimilarityGrid<Text>(calculator, calculator, snapshots);
+		for (final var matcher : getMatchers()) {
+			((SimilarityGrid<Text>) matcher).addUnpairedTo(grid);
+		}
+		return grid;
 	}
 
 }
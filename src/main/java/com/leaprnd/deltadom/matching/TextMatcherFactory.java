@@ -7,8 +7,8 @@ enum TextMatcherFactory implements MatcherFactory<Text> {
 	TEXT_MATCHER_FACTORY;
 
 	@Override
-	public Matcher<Text> newMatcher() {
-		return new TextMatcher();
+	public Matcher<Text> newMatcher(SnapshotPair snapshots) {
+		return new TextMatcher(snapshots);
 	}
 
 }
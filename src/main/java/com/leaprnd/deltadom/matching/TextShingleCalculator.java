@@ -0,0 +1,90 @@
+package com.leaprnd.deltadom.matching;
+
+import org.w3c.dom.Text;
+
+import java.util.HashMap;
+
+import static com.leaprnd.deltadom.Similarity.BAD_MATCH;
+import static com.leaprnd.deltadom.Similarity.GOOD_MATCH;
+import static com.leaprnd.deltadom.Similarity.IMPOSSIBLE_MATCH;
+import static java.lang.Long.SIZE;
+import static java.lang.Long.bitCount;
+import static java.lang.Math.min;
+
+class TextShingleCalculator implements Calculator<Text>, Fingerprinter<Text> {
+
+	private static final int LONGS = 16;
+	private static final int MAX_SHINGLED_LENGTH = 512;
+	private static final float MIN_OVERLAP = 0.4f;
+	private static final char START = '\u0002';
+	private static final char END = '\u0003';
+
+	private final SnapshotPair snapshots;
+	private final HashMap<Text, long[]> xFingerprints = new HashMap<>();
+	private final HashMap<Text, long[]> yFingerprints = new HashMap<>();
+
+	TextShingleCalculator(SnapshotPair snapshots) {
+		this.snapshots = snapshots;
+	}
+
+	private long[] toFingerprint(Text node) {
+		final var bloom = new long[LONGS];
+		final var text = snapshots.getValue(node);
+		final var length = min(text.length(), MAX_SHINGLED_LENGTH);
+		var previous = START;
+		for (var index = 0; index < length; index ++) {
+			final var current = text.charAt(index);
+			add(bloom, previous, current);
+			previous = current;
+		}
+		add(bloom, previous, END);
+		return bloom;
+	}
+
+	private static void add(long[] bloom, char previous, char current) {
+		final var offset = ((previous << 16 | current) * 0x9e3779b9) >>> 22;
+		bloom[offset / SIZE] |= 1L << (offset % SIZE);
+	}
+
+	private static float getSimilarityOf(long[] a, long[] b, int offsetOfB) {
+		int matches = 0;
+		int mismatches = 0;
+		for (var index = 0; index < LONGS; index ++) {
+			final var x = a[index];
+			final var y = b[offsetOfB + index];
+			matches += bitCount(x & y);
+			mismatches += bitCount(x ^ y);
+		}
+		if (mismatches == 0) {
+			return GOOD_MATCH;
+		}
+		final var overlap = (float) matches / (matches + mismatches);
+		if (overlap < MIN_OVERLAP) {
+			return IMPOSSIBLE_MATCH;
+		}
+		return BAD_MATCH + overlap * GOOD_MATCH;
+	}
+
+	@Override
+	public long[] getFingerprintOfX(Text node) {
+		return xFingerprints.computeIfAbsent(node, this::toFingerprint);
+	}
+
+	@Override
+	public long[] getFingerprintOfY(Text node) {
+		return yFingerprints.computeIfAbsent(node, this::toFingerprint);
+	}
+
+	@Override
+	public void getSimilaritiesOf(long[] xFingerprint, long[] yFingerprints, float[] similarities) {
+		for (var yIndex = 0; yIndex < similarities.length; yIndex ++) {
+			similarities[yIndex] = getSimilarityOf(xFingerprint, yFingerprints, yIndex * LONGS);
+		}
+	}
+
+	@Override
+	public float getSimilarityOf(Text a, Text b) {
+		return getSimilarityOf(getFingerprintOfX(a), getFingerprintOfY(b), 0);
+	}
+
+}
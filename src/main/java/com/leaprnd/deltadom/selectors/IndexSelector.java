@@ -0,0 +1,10 @@
+package com.leaprnd.deltadom.selectors;
+
+import java.io.IOException;
+
+record IndexSelector(int index) implements Selector {
+	@Override
+	public void appendTo(Appendable writer) throws IOException {
+		writer.append(Integer.toString(index));
+	}
+}
\ No newline at end of file
@@ -6,7 +6,7 @@ import java.io.IOException;
 
 import static org.w3c.dom.Node.ELEMENT_NODE;
 
-public sealed interface Selector permits ChildSelector,FirstOfTypeSelector,IdSelector,LastOfTypeSelector,NthOfTypeSelector,TagSelector {
+public sealed interface Selector permits ChildSelector,FirstOfTypeSelector,IdSelector,IndexSelector,LastOfTypeSelector,NthOfTypeSelector,TagSelector {
 
 	static Selector toSelector(Element element) {
 		if (element == null) {
@@ -36,7 +36,6 @@ public sealed interface Selector permits ChildSelector,FirstOfTypeSelector,IdSel
 			return new IdSelector(element.getAttribute("id"));
 		}
 		final var tagName = element.getTagName();
-		Selector part = new TagSelector(tagName);
 		var nthOfType = 1;
 		var childrenOfType = 1;
 		for (var sibling = element.getPreviousSibling(); sibling != null; sibling = sibling.getPreviousSibling()) {
@@ -50,16 +49,7 @@ public sealed interface Selector permits ChildSelector,FirstOfTypeSelector,IdSel
 				childrenOfType ++;
 			}
 		}
-		if (childrenOfType > 1) {
-			if (nthOfType == 1) {
-				part = new FirstOfTypeSelector(part);
-			} else if (nthOfType == childrenOfType) {
-				part = new LastOfTypeSelector(part);
-			} else {
-				part = new NthOfTypeSelector(part, nthOfType);
-			}
-		}
-		return part;
+		return SelectorCache.toPart(tagName, nthOfType, childrenOfType);
 	}
 
 	void appendTo(Appendable writer) throws IOException;
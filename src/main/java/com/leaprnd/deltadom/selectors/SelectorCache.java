@@ -0,0 +1,117 @@
+package com.leaprnd.deltadom.selectors;
+
+import com.leaprnd.deltadom.util.ChildPositions;
+import com.leaprnd.deltadom.util.MutableTree;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.HashMap;
+
+public class SelectorCache {
+
+	private static final String ID_ATTRIBUTE = "id";
+
+	private static final class Entry {
+		private Selector part;
+		private int typePosition;
+		private ChildSelector selector;
+	}
+
+	private final MutableTree tree;
+	private final HashMap<Element, Entry> entries = new HashMap<>();
+	private final TypePositions positions;
+	private final ChildPositions indices;
+
+	public SelectorCache(MutableTree tree) {
+		this(tree, null);
+	}
+
+	public SelectorCache(MutableTree tree, ChildPositions indices) {
+		this.tree = tree;
+		this.positions = new TypePositions(tree);
+		this.indices = indices;
+	}
+
+	public Selector toSelector(Element element) {
+		final var parentNode = tree.getParentNode(element);
+		if (parentNode == null) {
+			return Selector.toSelector(element);
+		}
+		final var entry = entries.computeIfAbsent(element, key -> new Entry());
+		final var part = toPart(element, entry);
+		if (part instanceof IdSelector) {
+			return part;
+		}
+		if (parentNode instanceof final Element parentElement) {
+			final var parentSelector = toSelector(parentElement);
+			final var selector = entry.selector;
+			if (selector != null && selector.parent() == parentSelector && selector.child() == part) {
+				return selector;
+			}
+			return entry.selector = new ChildSelector(parentSelector, part);
+		}
+		return part;
+	}
+
+	public Position toPosition(Node parent, int offset) {
+		return new Position(toSelector((Element) parent), offset);
+	}
+
+	public void insert(Node child) {
+		positions.insert(child);
+	}
+
+	public void remove(Node child) {
+		positions.remove(child);
+	}
+
+	private Selector toPart(Element element, Entry entry) {
+		if (tree.hasAttribute(element, ID_ATTRIBUTE)) {
+			final var id = tree.getAttribute(element, ID_ATTRIBUTE);
+			if (!(entry.part instanceof final IdSelector idSelector && idSelector.id().equals(id))) {
+				entry.part = new IdSelector(id);
+			}
+			return entry.part;
+		}
+		if (indices != null && tree.getParentNode(element) instanceof Element) {
+			final var index = indices.indexOf(element);
+			if (!(entry.part instanceof final IndexSelector indexSelector && indexSelector.index() == index)) {
+				entry.part = new IndexSelector(index);
+			}
+			return entry.part;
+		}
+		final var nthOfType = positions.nthOfType(element);
+		final var childrenOfType = positions.childrenOfType(element);
+		final var typePosition = toTypePosition(nthOfType, childrenOfType);
+		if (entry.part == null || entry.part instanceof IdSelector || entry.typePosition != typePosition) {
+			entry.part = toPart(element.getTagName(), nthOfType, childrenOfType);
+			entry.typePosition = typePosition;
+		}
+		return entry.part;
+	}
+
+	private static int toTypePosition(int nthOfType, int childrenOfType) {
+		if (childrenOfType <= 1) {
+			return 0;
+		}
+		if (nthOfType == childrenOfType) {
+			return -1;
+		}
+		return nthOfType;
+	}
+
+	static Selector toPart(String tagName, int nthOfType, int childrenOfType) {
+		final var part = new TagSelector(tagName);
+		if (childrenOfType > 1) {
+			if (nthOfType == 1) {
+				return new FirstOfTypeSelector(part);
+			} else if (nthOfType == childrenOfType) {
+				return new LastOfTypeSelector(part);
+			} else {
+				return new NthOfTypeSelector(part, nthOfType);
+			}
+		}
+		return part;
+	}
+
+}
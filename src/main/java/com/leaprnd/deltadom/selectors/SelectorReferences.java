@@ -0,0 +1,32 @@
+package com.leaprnd.deltadom.selectors;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+
+public final class SelectorReferences {
+
+	public static final int NONE = -1;
+
+	private final IdentityHashMap<Selector, Integer> handles = new IdentityHashMap<>();
+
+	public int getHandleOf(Selector selector) {
+		final var handle = handles.get(selector);
+		return handle == null ? NONE : handle;
+	}
+
+	public int getHandleOfParentOf(Selector selector) {
+		if (selector instanceof final ChildSelector childSelector) {
+			return getHandleOf(childSelector.parent());
+		}
+		return NONE;
+	}
+
+	public void appendChildOf(Selector selector, Appendable writer) throws IOException {
+		((ChildSelector) selector).child().appendTo(writer);
+	}
+
+	public void define(Selector selector) {
+		handles.put(selector, handles.size());
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.leaprnd.deltadom.selectors;
+
+import com.leaprnd.deltadom.util.IndexedList;
+import com.leaprnd.deltadom.util.IndexedList.Entry;
+import com.leaprnd.deltadom.util.MutableTree;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.HashMap;
+
+class TypePositions {
+
+	private record Type(Node parent, String tagName) {}
+
+	private final MutableTree tree;
+	private final HashMap<Type, IndexedList<Element>> elementsByType = new HashMap<>();
+	private final HashMap<Element, Entry<Element>> entriesByElement = new HashMap<>();
+
+	TypePositions(MutableTree tree) {
+		this.tree = tree;
+	}
+
+	public int nthOfType(Element element) {
+		return getEntryOf(element).index() + 1;
+	}
+
+	public int childrenOfType(Element element) {
+		return getElementsOfType(tree.getParentNode(element), element.getTagName()).size();
+	}
+
+	public void insert(Node child) {
+		if (!(child instanceof final Element element)) {
+			return;
+		}
+		final var tagName = element.getTagName();
+		final var elements = elementsByType.get(new Type(tree.getParentNode(element), tagName));
+		if (elements == null) {
+			return;
+		}
+		Entry<Element> next = null;
+		for (var sibling = tree.getNextSibling(element); sibling != null; sibling = tree.getNextSibling(sibling)) {
+			if (sibling instanceof final Element siblingElement && tagName.equals(siblingElement.getTagName())) {
+				next = entriesByElement.get(siblingElement);
+				break;
+			}
+		}
+		entriesByElement.put(element, elements.insertBefore(element, next));
+	}
+
+	public void remove(Node child) {
+		final var entry = entriesByElement.remove(child);
+		if (entry != null) {
+			entry.remove();
+		}
+	}
+
+	private Entry<Element> getEntryOf(Element element) {
+		var entry = entriesByElement.get(element);
+		if (entry == null) {
+			getElementsOfType(tree.getParentNode(element), element.getTagName());
+			entry = entriesByElement.get(element);
+		}
+		return entry;
+	}
+
+	private IndexedList<Element> getElementsOfType(Node parent, String tagName) {
+		final var type = new Type(parent, tagName);
+		var elements = elementsByType.get(type);
+		if (elements == null) {
+			elements = new IndexedList<>();
+			for (var child = tree.getFirstChild(parent); child != null; child = tree.getNextSibling(child)) {
+				if (child instanceof final Element element && tagName.equals(element.getTagName())) {
+					entriesByElement.put(element, elements.append(element));
+				}
+			}
+			elementsByType.put(type, elements);
+		}
+		return elements;
+	}
+
+}
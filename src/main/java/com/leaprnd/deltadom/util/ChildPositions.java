@@ -0,0 +1,60 @@
+package com.leaprnd.deltadom.util;
+
+import com.leaprnd.deltadom.util.IndexedList.Entry;
+import org.w3c.dom.Node;
+
+import java.util.HashMap;
+
+public class ChildPositions {
+
+	private final MutableTree tree;
+	private final HashMap<Node, IndexedList<Node>> childrenByParent = new HashMap<>();
+	private final HashMap<Node, Entry<Node>> entriesByNode = new HashMap<>();
+
+	public ChildPositions(MutableTree tree) {
+		this.tree = tree;
+	}
+
+	public int indexOf(Node child) {
+		var entry = entriesByNode.get(child);
+		if (entry == null) {
+			getChildrenOf(tree.getParentNode(child));
+			entry = entriesByNode.get(child);
+		}
+		return entry.index();
+	}
+
+	public Node get(Node parent, int index) {
+		return getChildrenOf(parent).get(index);
+	}
+
+	public void insert(Node child) {
+		final var children = childrenByParent.get(tree.getParentNode(child));
+		if (children == null) {
+			return;
+		}
+		final var nextSibling = tree.getNextSibling(child);
+		final var next = nextSibling == null ? null : entriesByNode.get(nextSibling);
+		entriesByNode.put(child, children.insertBefore(child, next));
+	}
+
+	public void remove(Node child) {
+		final var entry = entriesByNode.remove(child);
+		if (entry != null) {
+			entry.remove();
+		}
+	}
+
+	private IndexedList<Node> getChildrenOf(Node parent) {
+		var children = childrenByParent.get(parent);
+		if (children == null) {
+			children = new IndexedList<>();
+			for (var child = tree.getFirstChild(parent); child != null; child = tree.getNextSibling(child)) {
+				entriesByNode.put(child, children.append(child));
+			}
+			childrenByParent.put(parent, children);
+		}
+		return children;
+	}
+
+}
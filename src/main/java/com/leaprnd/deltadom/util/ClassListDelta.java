@@ -0,0 +1,58 @@
+package com.leaprnd.deltadom.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public record ClassListDelta(List<String> removed, List<String> added) {
+
+	public static ClassListDelta between(String oldValue, String newValue) {
+		final var oldTokens = toTokens(oldValue);
+		final var newTokens = toTokens(newValue);
+		final var removed = new ArrayList<String>();
+		for (final var token : oldTokens) {
+			if (!newTokens.contains(token)) {
+				removed.add(token);
+			}
+		}
+		final var added = new ArrayList<String>();
+		for (final var token : newTokens) {
+			if (!oldTokens.contains(token)) {
+				added.add(token);
+			}
+		}
+		if (removed.isEmpty() && added.isEmpty()) {
+			return null;
+		}
+		final var result = new LinkedHashSet<>(oldTokens);
+		removed.forEach(result::remove);
+		result.addAll(added);
+		if (!String.join(" ", result).equals(newValue)) {
+			return null;
+		}
+		return new ClassListDelta(removed, added);
+	}
+
+	private static LinkedHashSet<String> toTokens(String value) {
+		final var tokens = new LinkedHashSet<String>();
+		final var length = value.length();
+		var start = 0;
+		for (var index = 0; index <= length; index ++) {
+			if (index == length || isWhitespace(value.charAt(index))) {
+				if (index > start) {
+					tokens.add(value.substring(start, index));
+				}
+				start = index + 1;
+			}
+		}
+		return tokens;
+	}
+
+	private static boolean isWhitespace(char character) {
+		return switch (character) {
+			case ' ', '\t', '\n', '\f', '\r' -> true;
+			default -> false;
+		};
+	}
+
+}
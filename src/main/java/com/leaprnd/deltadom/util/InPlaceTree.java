@@ -0,0 +1,76 @@
+package com.leaprnd.deltadom.util;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+public record InPlaceTree(Document document) implements MutableTree {
+
+	@Override
+	public Node getParentNode(Node node) {
+		return node.getParentNode();
+	}
+
+	@Override
+	public Node getFirstChild(Node node) {
+		return node.getFirstChild();
+	}
+
+	@Override
+	public Node getLastChild(Node node) {
+		return node.getLastChild();
+	}
+
+	@Override
+	public Node getPreviousSibling(Node node) {
+		return node.getPreviousSibling();
+	}
+
+	@Override
+	public Node getNextSibling(Node node) {
+		return node.getNextSibling();
+	}
+
+	@Override
+	public boolean hasAttribute(Element element, String name) {
+		return element.hasAttribute(name);
+	}
+
+	@Override
+	public String getAttribute(Element element, String name) {
+		return element.getAttribute(name);
+	}
+
+	@Override
+	public Node importNode(Node node) {
+		return document.importNode(node, false);
+	}
+
+	@Override
+	public void insertBefore(Node parent, Node child, Node referenceChild) {
+		parent.insertBefore(child, referenceChild);
+	}
+
+	@Override
+	public void removeChild(Node parent, Node child) {
+		parent.removeChild(child);
+	}
+
+	@Override
+	public void setAttribute(Element element, Attr attribute) {
+		final var attributes = element.getAttributes();
+		final var existing = attributes.getNamedItem(attribute.getNodeName());
+		if (existing == null) {
+			attributes.setNamedItem(document.importNode(attribute, true));
+		} else {
+			existing.setNodeValue(attribute.getNodeValue());
+		}
+	}
+
+	@Override
+	public void removeAttribute(Element element, String name) {
+		element.getAttributes().removeNamedItem(name);
+	}
+
+}
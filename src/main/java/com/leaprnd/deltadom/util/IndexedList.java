@@ -0,0 +1,180 @@
+package com.leaprnd.deltadom.util;
+
+public class IndexedList<T> {
+
+	public static final class Entry<T> {
+
+		private final T value;
+		private final int priority;
+		private IndexedList<T> owner;
+		private Entry<T> parent;
+		private Entry<T> left;
+		private Entry<T> right;
+		private int size = 1;
+
+		private Entry(IndexedList<T> owner, T value, int priority) {
+			this.owner = owner;
+			this.value = value;
+			this.priority = priority;
+		}
+
+		public T value() {
+			return value;
+		}
+
+		public int index() {
+			var entry = this;
+			var index = sizeOf(entry.left);
+			while (entry.parent != null) {
+				if (entry.parent.right == entry) {
+					index += sizeOf(entry.parent.left) + 1;
+				}
+				entry = entry.parent;
+			}
+			return index;
+		}
+
+		public void remove() {
+			if (owner == null) {
+				return;
+			}
+			while (left != null && right != null) {
+				if (left.priority > right.priority) {
+					owner.rotateUp(left);
+				} else {
+					owner.rotateUp(right);
+				}
+			}
+			final var replacement = left == null ? right : left;
+			if (replacement != null) {
+				replacement.parent = parent;
+			}
+			if (parent == null) {
+				owner.root = replacement;
+			} else {
+				if (parent.left == this) {
+					parent.left = replacement;
+				} else {
+					parent.right = replacement;
+				}
+				for (var ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+					ancestor.size --;
+				}
+			}
+			owner = null;
+			parent = null;
+			left = null;
+			right = null;
+			size = 1;
+		}
+
+	}
+
+	private Entry<T> root;
+	private int seed = 0x2545f491;
+
+	public int size() {
+		return sizeOf(root);
+	}
+
+	public T get(int index) {
+		var entry = root;
+		while (entry != null) {
+			final var sizeOfLeft = sizeOf(entry.left);
+			if (index < sizeOfLeft) {
+				entry = entry.left;
+			} else if (index == sizeOfLeft) {
+				return entry.value;
+			} else {
+				index -= sizeOfLeft + 1;
+				entry = entry.right;
+			}
+		}
+		return null;
+	}
+
+	public Entry<T> append(T value) {
+		return insertBefore(value, null);
+	}
+
+	public Entry<T> insertBefore(T value, Entry<T> next) {
+		final var entry = new Entry<>(this, value, nextPriority());
+		if (root == null) {
+			root = entry;
+			return entry;
+		}
+		if (next == null) {
+			attachAsRightChild(rightmostOf(root), entry);
+		} else if (next.left == null) {
+			next.left = entry;
+			entry.parent = next;
+			incrementSizesAbove(entry);
+		} else {
+			attachAsRightChild(rightmostOf(next.left), entry);
+		}
+		while (entry.parent != null && entry.parent.priority < entry.priority) {
+			rotateUp(entry);
+		}
+		return entry;
+	}
+
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	private void rotateUp(Entry<T> entry) {
+		final var parent = entry.parent;
+		final var grandparent = parent.parent;
+		if (parent.left == entry) {
+			parent.left = entry.right;
+			if (entry.right != null) {
+				entry.right.parent = parent;
+			}
+			entry.right = parent;
+		} else {
+			parent.right = entry.left;
+			if (entry.left != null) {
+				entry.left.parent = parent;
+			}
+			entry.left = parent;
+		}
+		parent.parent = entry;
+		entry.parent = grandparent;
+		if (grandparent == null) {
+			root = entry;
+		} else if (grandparent.left == parent) {
+			grandparent.left = entry;
+		} else {
+			grandparent.right = entry;
+		}
+		parent.size = 1 + sizeOf(parent.left) + sizeOf(parent.right);
+		entry.size = 1 + sizeOf(entry.left) + sizeOf(entry.right);
+	}
+
+	private static <T> Entry<T> rightmostOf(Entry<T> entry) {
+		while (entry.right != null) {
+			entry = entry.right;
+		}
+		return entry;
+	}
+
+	private static <T> void attachAsRightChild(Entry<T> parent, Entry<T> child) {
+		parent.right = child;
+		child.parent = parent;
+		incrementSizesAbove(child);
+	}
+
+	private static <T> void incrementSizesAbove(Entry<T> entry) {
+		for (var ancestor = entry.parent; ancestor != null; ancestor = ancestor.parent) {
+			ancestor.size ++;
+		}
+	}
+
+	private static int sizeOf(Entry<?> entry) {
+		return entry == null ? 0 : entry.size;
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.leaprnd.deltadom.util;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+public interface MutableTree {
+
+	Node getParentNode(Node node);
+
+	Node getFirstChild(Node node);
+
+	Node getLastChild(Node node);
+
+	Node getPreviousSibling(Node node);
+
+	Node getNextSibling(Node node);
+
+	boolean hasAttribute(Element element, String name);
+
+	String getAttribute(Element element, String name);
+
+	Node importNode(Node node);
+
+	void insertBefore(Node parent, Node child, Node referenceChild);
+
+	void removeChild(Node parent, Node child);
+
+	void setAttribute(Element element, Attr attribute);
+
+	void removeAttribute(Element element, String name);
+
+}
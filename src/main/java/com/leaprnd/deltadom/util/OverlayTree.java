@@ -0,0 +1,160 @@
+package com.leaprnd.deltadom.util;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.HashMap;
+
+public class OverlayTree implements MutableTree {
+
+	private static final class Children {
+		private Node first;
+		private Node last;
+	}
+
+	private static final class Siblings {
+		private Node parent;
+		private Node previous;
+		private Node next;
+	}
+
+	private final HashMap<Node, Children> childrenByParent = new HashMap<>();
+	private final HashMap<Node, Siblings> siblingsByNode = new HashMap<>();
+	private final HashMap<Element, HashMap<String, String>> attributesByElement = new HashMap<>();
+
+	@Override
+	public Node getParentNode(Node node) {
+		final var siblings = siblingsByNode.get(node);
+		return siblings == null ? node.getParentNode() : siblings.parent;
+	}
+
+	@Override
+	public Node getFirstChild(Node node) {
+		final var children = childrenByParent.get(node);
+		return children == null ? node.getFirstChild() : children.first;
+	}
+
+	@Override
+	public Node getLastChild(Node node) {
+		final var children = childrenByParent.get(node);
+		return children == null ? node.getLastChild() : children.last;
+	}
+
+	@Override
+	public Node getPreviousSibling(Node node) {
+		final var siblings = siblingsByNode.get(node);
+		return siblings == null ? node.getPreviousSibling() : siblings.previous;
+	}
+
+	@Override
+	public Node getNextSibling(Node node) {
+		final var siblings = siblingsByNode.get(node);
+		return siblings == null ? node.getNextSibling() : siblings.next;
+	}
+
+	@Override
+	public boolean hasAttribute(Element element, String name) {
+		final var attributes = attributesByElement.get(element);
+		if (attributes != null && attributes.containsKey(name)) {
+			return attributes.get(name) != null;
+		}
+		return element.hasAttribute(name);
+	}
+
+	@Override
+	public String getAttribute(Element element, String name) {
+		final var attributes = attributesByElement.get(element);
+		if (attributes != null && attributes.containsKey(name)) {
+			final var value = attributes.get(name);
+			return value == null ? "" : value;
+		}
+		return element.getAttribute(name);
+	}
+
+	@Override
+	public Node importNode(Node node) {
+		childrenByParent.put(node, new Children());
+		siblingsByNode.put(node, new Siblings());
+		return node;
+	}
+
+	@Override
+	public void insertBefore(Node parent, Node child, Node referenceChild) {
+		if (child == referenceChild) {
+			return;
+		}
+		final var oldParent = getParentNode(child);
+		if (oldParent != null) {
+			removeChild(oldParent, child);
+		}
+		final var children = getChildrenOf(parent);
+		final var siblings = siblingsByNode.computeIfAbsent(child, key -> new Siblings());
+		siblings.parent = parent;
+		siblings.next = referenceChild;
+		if (referenceChild == null) {
+			siblings.previous = children.last;
+			children.last = child;
+		} else {
+			final var siblingsOfReference = siblingsByNode.get(referenceChild);
+			siblings.previous = siblingsOfReference.previous;
+			siblingsOfReference.previous = child;
+		}
+		if (siblings.previous == null) {
+			children.first = child;
+		} else {
+			siblingsByNode.get(siblings.previous).next = child;
+		}
+	}
+
+	@Override
+	public void removeChild(Node parent, Node child) {
+		final var children = getChildrenOf(parent);
+		final var siblings = siblingsByNode.get(child);
+		if (siblings.previous == null) {
+			children.first = siblings.next;
+		} else {
+			siblingsByNode.get(siblings.previous).next = siblings.next;
+		}
+		if (siblings.next == null) {
+			children.last = siblings.previous;
+		} else {
+			siblingsByNode.get(siblings.next).previous = siblings.previous;
+		}
+		siblings.parent = null;
+		siblings.previous = null;
+		siblings.next = null;
+	}
+
+	@Override
+	public void setAttribute(Element element, Attr attribute) {
+		attributesByElement.computeIfAbsent(element, key -> new HashMap<>()).put(attribute.getNodeName(), attribute.getNodeValue());
+	}
+
+	@Override
+	public void removeAttribute(Element element, String name) {
+		attributesByElement.computeIfAbsent(element, key -> new HashMap<>()).put(name, null);
+	}
+
+	private Children getChildrenOf(Node parent) {
+		var children = childrenByParent.get(parent);
+		if (children == null) {
+			children = new Children();
+			for (var child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+				final var siblings = new Siblings();
+				siblings.parent = parent;
+				siblings.previous = children.last;
+				if (children.last == null) {
+					children.first = child;
+				} else {
+					siblingsByNode.get(children.last).next = child;
+				}
+				children.last = child;
+				siblingsByNode.put(child, siblings);
+			}
+			childrenByParent.put(parent, children);
+		}
+		return children;
+	}
+
+}
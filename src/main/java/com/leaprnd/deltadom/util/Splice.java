@@ -0,0 +1,3 @@
+package com.leaprnd.deltadom.util;
+
+public record Splice(int offset, int deleteCount, String text) {}
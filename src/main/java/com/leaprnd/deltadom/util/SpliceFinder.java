@@ -0,0 +1,152 @@
+package com.leaprnd.deltadom.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Character.isHighSurrogate;
+import static java.lang.Character.isLowSurrogate;
+import static java.lang.Math.min;
+
+public final class SpliceFinder {
+
+	private static final int MAX_EDITS = 64;
+	private static final int MERGE_DISTANCE = 8;
+
+	private final String oldValue;
+	private final String newValue;
+	private final int start;
+	private final int oldEnd;
+	private final int newEnd;
+	private final ArrayList<Splice> splices = new ArrayList<>();
+	private int hunkOldStart = -1;
+	private int hunkOldEnd;
+	private int hunkNewStart;
+	private int hunkNewEnd;
+
+	private SpliceFinder(String oldValue, String newValue) {
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+		final var oldLength = oldValue.length();
+		final var newLength = newValue.length();
+		var prefix = 0;
+		final var maxPrefix = min(oldLength, newLength);
+		while (prefix < maxPrefix && oldValue.charAt(prefix) == newValue.charAt(prefix)) {
+			prefix ++;
+		}
+		var suffix = 0;
+		final var maxSuffix = maxPrefix - prefix;
+		while (suffix < maxSuffix && oldValue.charAt(oldLength - suffix - 1) == newValue.charAt(newLength - suffix - 1)) {
+			suffix ++;
+		}
+		this.start = prefix;
+		this.oldEnd = oldLength - suffix;
+		this.newEnd = newLength - suffix;
+	}
+
+	public static List<Splice> findSplicesBetween(String oldValue, String newValue) {
+		return new SpliceFinder(oldValue, newValue).find();
+	}
+
+	private List<Splice> find() {
+		if (!findEdits()) {
+			addHunk(start, oldEnd, start, newEnd);
+		}
+		endHunk();
+		return splices;
+	}
+
+	private boolean findEdits() {
+		final var n = oldEnd - start;
+		final var m = newEnd - start;
+		if (n == 0 && m == 0) {
+			return true;
+		}
+		final var max = min(n + m, MAX_EDITS);
+		final var offset = max + 1;
+		final var v = new int[2 * max + 3];
+		final var trace = new ArrayList<int[]>();
+		for (var d = 0; d <= max; d ++) {
+			trace.add(v.clone());
+			for (var k = -d; k <= d; k += 2) {
+				var x = k == -d || k != d && v[offset + k - 1] < v[offset + k + 1] ? v[offset + k + 1] : v[offset + k - 1] + 1;
+				var y = x - k;
+				while (x < n && y < m && oldValue.charAt(start + x) == newValue.charAt(start + y)) {
+					x ++;
+					y ++;
+				}
+				v[offset + k] = x;
+				if (x >= n && y >= m) {
+					backtrack(trace, offset, n, m);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void backtrack(List<int[]> trace, int offset, int n, int m) {
+		final var edits = new int[trace.size() - 1][];
+		var x = n;
+		var y = m;
+		for (var d = trace.size() - 1; d > 0; d --) {
+			final var v = trace.get(d);
+			final var k = x - y;
+			final var insertion = k == -d || k != d && v[offset + k - 1] < v[offset + k + 1];
+			final var previousK = insertion ? k + 1 : k - 1;
+			final var previousX = v[offset + previousK];
+			final var previousY = previousX - previousK;
+			edits[d - 1] = insertion
+				? new int[] { previousX, previousX, previousY, previousY + 1 }
+				: new int[] { previousX, previousX + 1, previousY, previousY };
+			x = previousX;
+			y = previousY;
+		}
+		for (final var edit : edits) {
+			addHunk(start + edit[0], start + edit[1], start + edit[2], start + edit[3]);
+		}
+	}
+
+	private void addHunk(int oldStart, int oldStop, int newStart, int newStop) {
+		while (oldStart > 0 && newStart > 0 && (isLowSurrogate(charOfOldAt(oldStart)) || isLowSurrogate(charOfNewAt(newStart)))) {
+			oldStart --;
+			newStart --;
+		}
+		while (oldStop < oldValue.length() && newStop < newValue.length() && (isHighSurrogate(charOfOldAt(oldStop - 1)) || isHighSurrogate(charOfNewAt(newStop - 1)))) {
+			oldStop ++;
+			newStop ++;
+		}
+		if (hunkOldStart < 0) {
+			startHunk(oldStart, oldStop, newStart, newStop);
+		} else if (oldStart - hunkOldEnd <= MERGE_DISTANCE) {
+			hunkOldEnd = oldStop;
+			hunkNewEnd = newStop;
+		} else {
+			endHunk();
+			startHunk(oldStart, oldStop, newStart, newStop);
+		}
+	}
+
+	private char charOfOldAt(int index) {
+		return index < 0 || index >= oldValue.length() ? 0 : oldValue.charAt(index);
+	}
+
+	private char charOfNewAt(int index) {
+		return index < 0 || index >= newValue.length() ? 0 : newValue.charAt(index);
+	}
+
+	private void startHunk(int oldStart, int oldStop, int newStart, int newStop) {
+		hunkOldStart = oldStart;
+		hunkOldEnd = oldStop;
+		hunkNewStart = newStart;
+		hunkNewEnd = newStop;
+	}
+
+	private void endHunk() {
+		if (hunkOldStart < 0 || hunkOldStart == hunkOldEnd && hunkNewStart == hunkNewEnd) {
+			return;
+		}
+		splices.add(0, new Splice(hunkOldStart, hunkOldEnd - hunkOldStart, newValue.substring(hunkNewStart, hunkNewEnd)));
+		hunkOldStart = -1;
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.leaprnd.deltadom.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Locale.ROOT;
+
+public record StyleDelta(List<String> removed, Map<String, String> set) {
+
+	private static final Set<String> SHORTHANDS = Set.of(
+		"all",
+		"animation",
+		"animation-range",
+		"background",
+		"background-position",
+		"border",
+		"border-block",
+		"border-block-color",
+		"border-block-end",
+		"border-block-start",
+		"border-block-style",
+		"border-block-width",
+		"border-bottom",
+		"border-color",
+		"border-image",
+		"border-inline",
+		"border-inline-color",
+		"border-inline-end",
+		"border-inline-start",
+		"border-inline-style",
+		"border-inline-width",
+		"border-left",
+		"border-radius",
+		"border-right",
+		"border-style",
+		"border-top",
+		"border-width",
+		"column-rule",
+		"columns",
+		"contain-intrinsic-size",
+		"container",
+		"flex",
+		"flex-flow",
+		"font",
+		"font-synthesis",
+		"font-variant",
+		"gap",
+		"grid",
+		"grid-area",
+		"grid-column",
+		"grid-column-gap",
+		"grid-gap",
+		"grid-row",
+		"grid-row-gap",
+		"grid-template",
+		"inset",
+		"inset-block",
+		"inset-inline",
+		"list-style",
+		"margin",
+		"margin-block",
+		"margin-inline",
+		"marker",
+		"mask",
+		"mask-border",
+		"offset",
+		"outline",
+		"overflow",
+		"overscroll-behavior",
+		"padding",
+		"padding-block",
+		"padding-inline",
+		"page-break-after",
+		"page-break-before",
+		"page-break-inside",
+		"place-content",
+		"place-items",
+		"place-self",
+		"position-try",
+		"scroll-margin",
+		"scroll-margin-block",
+		"scroll-margin-inline",
+		"scroll-padding",
+		"scroll-padding-block",
+		"scroll-padding-inline",
+		"scroll-timeline",
+		"text-box",
+		"text-decoration",
+		"text-emphasis",
+		"text-wrap",
+		"transition",
+		"view-timeline",
+		"white-space",
+		"word-wrap"
+	);
+
+	public static StyleDelta between(String oldValue, String newValue) {
+		final var oldDeclarations = toDeclarations(oldValue);
+		final var newDeclarations = toDeclarations(newValue);
+		if (oldDeclarations == null || newDeclarations == null) {
+			return null;
+		}
+		final var removed = new ArrayList<String>();
+		for (final var property : oldDeclarations.keySet()) {
+			if (!newDeclarations.containsKey(property)) {
+				removed.add(property);
+			}
+		}
+		final var set = new LinkedHashMap<String, String>();
+		for (final var entry : newDeclarations.entrySet()) {
+			if (!entry.getValue().equals(oldDeclarations.get(entry.getKey()))) {
+				set.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (removed.isEmpty() && set.isEmpty()) {
+			return null;
+		}
+		if (hasShorthand(oldDeclarations) || hasShorthand(newDeclarations)) {
+			return null;
+		}
+		return new StyleDelta(removed, set);
+	}
+
+	private static boolean hasShorthand(Map<String, String> declarations) {
+		for (final var property : declarations.keySet()) {
+			if (property.startsWith("--")) {
+				continue;
+			}
+			if (property.startsWith("-") || SHORTHANDS.contains(property)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static LinkedHashMap<String, String> toDeclarations(String value) {
+		final var declarations = new LinkedHashMap<String, String>();
+		final var length = value.length();
+		var start = 0;
+		var depth = 0;
+		var quote = (char) 0;
+		for (var index = 0; index <= length; index ++) {
+			final var character = index == length ? ';' : value.charAt(index);
+			if (quote != 0) {
+				if (character == '\\') {
+					index ++;
+				} else if (character == quote) {
+					quote = 0;
+				}
+				continue;
+			}
+			switch (character) {
+				case '"', '\'' -> quote = character;
+				case '(' -> depth ++;
+				case ')' -> depth --;
+				case '\\', '!' -> {
+					return null;
+				}
+				case '/' -> {
+					if (index + 1 < length && value.charAt(index + 1) == '*') {
+						return null;
+					}
+				}
+				case ';' -> {
+					if (depth == 0) {
+						if (!addDeclaration(declarations, value.substring(start, index))) {
+							return null;
+						}
+						start = index + 1;
+					}
+				}
+			}
+		}
+		return quote == 0 && depth == 0 ? declarations : null;
+	}
+
+	private static boolean addDeclaration(Map<String, String> declarations, String declaration) {
+		if (declaration.isBlank()) {
+			return true;
+		}
+		final var colon = declaration.indexOf(':');
+		if (colon < 0) {
+			return false;
+		}
+		final var name = declaration.substring(0, colon).strip();
+		final var value = declaration.substring(colon + 1).strip();
+		if (name.isEmpty() || value.isEmpty()) {
+			return false;
+		}
+		final var property = name.startsWith("--") ? name : name.toLowerCase(ROOT);
+		return declarations.put(property, value) == null;
+	}
+
+}
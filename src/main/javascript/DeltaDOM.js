@@ -1,12 +1,47 @@
+let elements = [];
+
+function isIndex(query, start) {
+	const character = query.charCodeAt(start);
+	return character >= 48 && character <= 57;
+}
+
+function select(query) {
+	const end = query.indexOf(">");
+	if (end < 0 || !isIndex(query, end + 1)) {
+		return document.querySelector(query);
+	}
+	let node = document.querySelector(query.substring(0, end));
+	for (const index of query.substring(end + 1).split(">")) {
+		node = node.childNodes[index];
+	}
+	return node;
+}
+
+function selectChild(parent, query) {
+	if (isIndex(query, 0)) {
+		return parent.childNodes[query];
+	}
+	return parent.querySelector(":scope>" + query);
+}
+
+function resolve(query) {
+	if (typeof query === "number") {
+		return elements[query];
+	}
+	const element = typeof query === "string" ? select(query) : selectChild(elements[query[0]], query[1]);
+	elements.push(element);
+	return element;
+}
+
 const HANDLERS = [
 	function deleteNode(parentQuery, offset) {
-		document.querySelector(parentQuery).childNodes[offset].remove();
+		resolve(parentQuery).childNodes[offset].remove();
 	},
 	function deleteElement(query) {
-		document.querySelector(query).remove();
+		resolve(query).remove();
 	},
 	function insertComment(parentQuery, offset, value) {
-		const parent = document.querySelector(parentQuery);
+		const parent = resolve(parentQuery);
 		parent.insertBefore(document.createComment(value), parent.childNodes[offset]);
 	},
 	function insertElement(parentQuery, offset, tagName, ... attributes) {
@@ -17,35 +52,57 @@ const HANDLERS = [
 			const value = attributes[index ++];
 			element.setAttribute(name, value);
 		}
-		const parent = document.querySelector(parentQuery);
+		const parent = resolve(parentQuery);
 		parent.insertBefore(element, parent.childNodes[offset]);
 	},
 	function insertText(parentQuery, offset, value) {
-		const parent = document.querySelector(parentQuery);
+		const parent = resolve(parentQuery);
 		parent.insertBefore(document.createTextNode(value), parent.childNodes[offset]);
 	},
 	function moveNode(oldParentQuery, oldOffset, newParentQuery, newOffset) {
-		const target = document.querySelector(oldParentQuery).childNodes[oldOffset];
-		const newParent = document.querySelector(newParentQuery);
+		const target = resolve(oldParentQuery).childNodes[oldOffset];
+		const newParent = resolve(newParentQuery);
 		newParent.insertBefore(target, newParent.childNodes[newOffset]);
 	},
 	function moveElement(targetQuery, newParentQuery, newOffset) {
-		const target = document.querySelector(targetQuery);
-		const newParent = document.querySelector(newParentQuery);
+		const target = resolve(targetQuery);
+		const newParent = resolve(newParentQuery);
 		newParent.insertBefore(target, newParent.childNodes[newOffset]);
 	},
 	function removeAttribute(query, name) {
-		document.querySelector(query).removeAttribute(name);
+		resolve(query).removeAttribute(name);
 	},
 	function setAttribute(query, name, value) {
-		document.querySelector(query).setAttribute(name, value);
+		resolve(query).setAttribute(name, value);
 	},
 	function setValue(parentQuery, offset, value) {
-		document.querySelector(parentQuery).childNodes[offset].nodeValue = value;
+		resolve(parentQuery).childNodes[offset].nodeValue = value;
+	},
+	function spliceValue(parentQuery, offset, start, deleteCount, value) {
+		resolve(parentQuery).childNodes[offset].replaceData(start, deleteCount, value);
+	},
+	function addClass(query, name) {
+		resolve(query).classList.add(name);
+	},
+	function removeClass(query, name) {
+		resolve(query).classList.remove(name);
+	},
+	function setStyleProperty(query, property, value) {
+		resolve(query).style.setProperty(property, value);
+	},
+	function removeStyleProperty(query, property) {
+		resolve(query).style.removeProperty(property);
+	},
+	function deleteNodes(parentQuery, offset, count) {
+		const parent = resolve(parentQuery);
+		while (count -- > 0) {
+			parent.childNodes[offset].remove();
+		}
 	},
 ];
 
 export function execute(events) {
+	elements = [];
 	for (const [type, ... parameters] of events) {
 		HANDLERS[type].apply(this, parameters);
 	}
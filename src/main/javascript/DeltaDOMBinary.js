@@ -0,0 +1,87 @@
+import { execute } from "./DeltaDOM.js";
+
+const NAME = 0;
+const INTEGER = 1;
+const TEXT = 2;
+const ATTRIBUTES = 3;
+
+const LAYOUTS = [
+	[NAME, INTEGER],
+	[NAME],
+	[NAME, INTEGER, TEXT],
+	[NAME, INTEGER, NAME, ATTRIBUTES],
+	[NAME, INTEGER, TEXT],
+	[NAME, INTEGER, NAME, INTEGER],
+	[NAME, NAME, INTEGER],
+	[NAME, NAME],
+	[NAME, NAME, NAME],
+	[NAME, INTEGER, TEXT],
+	[NAME, INTEGER, INTEGER, INTEGER, TEXT],
+	[NAME, NAME],
+	[NAME, NAME],
+	[NAME, NAME, NAME],
+	[NAME, NAME],
+	[NAME, INTEGER, INTEGER],
+];
+
+const decoder = new TextDecoder();
+
+export function decode(bytes) {
+	const names = [];
+	const events = [];
+	let position = 0;
+	function readInteger() {
+		let result = 0;
+		let shift = 0;
+		let byte;
+		do {
+			byte = bytes[position ++];
+			result |= (byte & 0x7f) << shift;
+			shift += 7;
+		} while (byte & 0x80);
+		return result >>> 0;
+	}
+	function readText() {
+		const length = readInteger();
+		const text = decoder.decode(bytes.subarray(position, position + length));
+		position += length;
+		return text;
+	}
+	function readName() {
+		const index = readInteger();
+		if (index === 0) {
+			const name = readText();
+			names.push(name);
+			return name;
+		}
+		return names[index - 1];
+	}
+	while (position < bytes.length) {
+		const type = readInteger();
+		const event = [type];
+		for (const field of LAYOUTS[type]) {
+			switch (field) {
+				case NAME:
+					event.push(readName());
+					break;
+				case INTEGER:
+					event.push(readInteger());
+					break;
+				case TEXT:
+					event.push(readText());
+					break;
+				case ATTRIBUTES:
+					for (let count = readInteger(); count > 0; count --) {
+						event.push(readName(), readName());
+					}
+					break;
+			}
+		}
+		events.push(event);
+	}
+	return events;
+}
+
+export function executeBinary(bytes) {
+	execute(decode(bytes));
+}
@@ -0,0 +1,71 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.json.JSONDifferenceHandler;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static com.leaprnd.deltadom.DiffMode.NON_DESTRUCTIVE;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DiffSessionTest {
+
+	@Test
+	public void testMatchesStatelessDiffs() throws IOException, ParserConfigurationException {
+		final var random = new Random(42);
+		final var renders = new ArrayList<Document>();
+		for (var render = 0; render < 20; render ++) {
+			renders.add(render(random));
+		}
+		final var session = new DiffSession(renders.get(0));
+		for (var index = 1; index < renders.size(); index ++) {
+			final var before = renders.get(index - 1);
+			final var after = renders.get(index);
+			final var expected = new StringBuilder();
+			try (final var json = new JSONDifferenceHandler(expected)) {
+				new DeltaDOM<>(before, after, NodeMatches.between(before, after), json, NON_DESTRUCTIVE).find();
+			}
+			final var actual = new StringBuilder();
+			try (final var json = new JSONDifferenceHandler(actual)) {
+				session.diff(after, json);
+			}
+			assertEquals(expected.toString(), actual.toString());
+			assertSame(after, session.getRoot());
+		}
+	}
+
+	private static Document render(Random random) throws ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var html = append(document, document, "html");
+		final var body = append(document, html, "body");
+		final var list = append(document, body, "ul");
+		for (var index = 0; index < 30; index ++) {
+			if (random.nextInt(4) == 0) {
+				continue;
+			}
+			final var item = append(document, list, "li");
+			if (random.nextBoolean()) {
+				item.setAttribute("class", "item-" + random.nextInt(3));
+			}
+			item.appendChild(document.createTextNode("Item " + index));
+		}
+		return document;
+	}
+
+	private static Element append(Document document, Node parent, String tagName) {
+		final var element = document.createElement(tagName);
+		parent.appendChild(element);
+		return element;
+	}
+
+}
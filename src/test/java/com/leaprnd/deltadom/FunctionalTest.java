@@ -1,5 +1,6 @@
 package com.leaprnd.deltadom;
 
+import com.leaprnd.deltadom.binary.BinaryDifferenceHandler;
 import com.leaprnd.deltadom.json.JSONDifferenceHandler;
 import com.leaprnd.deltadom.matching.NodeMatches;
 import org.junit.jupiter.api.AfterAll;
@@ -12,12 +13,18 @@ import org.simpleframework.transport.connect.SocketConnection;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.InetSocketAddress;
 
 import static com.google.common.io.ByteStreams.toByteArray;
+import static com.leaprnd.deltadom.Addressing.CHILD_INDICES;
+import static com.leaprnd.deltadom.Addressing.CSS_SELECTORS;
+import static com.leaprnd.deltadom.DiffMode.IN_PLACE;
+import static com.leaprnd.deltadom.Granularity.INCREMENTAL;
+import static com.leaprnd.deltadom.Granularity.WHOLE_VALUES;
 import static java.lang.System.lineSeparator;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -25,6 +32,7 @@ import static java.util.regex.Pattern.compile;
 import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class FunctionalTest {
@@ -287,6 +295,14 @@ public class FunctionalTest {
 		);
 	}
 
+	@Test
+	public void testShuffleMiddleOfLongList() throws Exception {
+		helpTest(
+			"<ul><li>1</li><li>2</li><li>3</li><li>4</li><li>5</li><li>6</li><li>7</li><li>8</li><li>9</li><li>10</li></ul>",
+			"<ul><li>1</li><li>2</li><li>7</li><li>4</li><li>5</li><li>3</li><li>6</li><li>9</li><li>8</li><li>10</li></ul>"
+		);
+	}
+
 	@Test
 	public void testManyIdenticalSiblings() throws Exception {
 		final var commands = helpTest("""
@@ -303,6 +319,96 @@ public class FunctionalTest {
 		}
 	}
 
+	@Test
+	public void testAddAndRemoveClasses() throws Exception {
+		final var commands = helpTest(
+			"<p class=\"alpha beta gamma delta epsilon eta theta iota kappa\">Test</p>",
+			"<p class=\"alpha gamma delta epsilon eta theta iota kappa zeta\">Test</p>",
+			INCREMENTAL
+		);
+		assertTrue(commands.contains("[11,"));
+		assertTrue(commands.contains("[12,"));
+	}
+
+	@Test
+	public void testSetAndRemoveStyleProperties() throws Exception {
+		final var commands = helpTest(
+			"<p style=\"color: red; width: 100px; height: 200px; max-width: 300px; min-height: 40px;\">Test</p>",
+			"<p style=\"width: 100px; height: 200px; max-width: 300px; min-height: 40px; font-weight: bold;\">Test</p>",
+			INCREMENTAL
+		);
+		assertTrue(commands.contains("[13,"));
+		assertTrue(commands.contains("[14,"));
+	}
+
+	@Test
+	public void testBinaryMessage() throws Exception {
+		helpTest(
+			"<ul><li class=\"a\">1</li><li>2</li></ul><p>Before</p>",
+			"<ul><li>2</li><li class=\"b\" title=\"x\">3</li></ul><p>After</p><!--done-->",
+			FunctionalTest::getDifferencesAsBinaryJavaScript
+		);
+	}
+
+	@Test
+	public void testReferencedSelectors() throws Exception {
+		final var commands = helpTest(
+			"<ul><li class=\"a\" title=\"1\">One</li><li class=\"a\" title=\"2\">Two</li></ul>",
+			"<ul class=\"list\"><li class=\"b\" title=\"1\">One!</li><li class=\"b\" title=\"2\">Two!</li></ul>",
+			CSS_SELECTORS,
+			true
+		);
+		assertTrue(commands.contains("[0,\"li:first-of-type\"]"));
+	}
+
+	@Test
+	public void testReferencedSelectorsWhileReordering() throws Exception {
+		helpTest(
+			"<ul><li>1</li><li>2</li><li>3</li><li>4</li><li>5</li><li>6</li><li>7</li><li>8</li><li>9</li><li>10</li></ul>",
+			"<ul><li>1</li><li>2</li><li>7</li><li>4</li><li>5</li><li>3</li><li>6</li><li>9</li><li>8</li><li>10</li></ul>",
+			CSS_SELECTORS,
+			true
+		);
+	}
+
+	@Test
+	public void testChildIndices() throws Exception {
+		final var commands = helpTest(
+			"<p>Intro</p><div id=\"main\"><ul><li>One</li><li>Two</li></ul></div>",
+			"<p>Intro!</p><div id=\"main\"><ul><li>One</li><li class=\"last\">Two</li></ul></div>",
+			CHILD_INDICES,
+			false
+		);
+		assertTrue(commands.contains("\"#main>0>1\""));
+	}
+
+	@Test
+	public void testChildIndicesAroundMovedText() throws Exception {
+		helpTest("<br><p>First<br>Second<br>Third</p>", "<br>Third<p>First<br>Second<br></p>", CHILD_INDICES, false);
+		helpTest("<p>First<br>Second<br>Third</p>", "<p>First<br><br>Third</p>", CHILD_INDICES, false);
+	}
+
+	@Test
+	public void testChildIndicesWhileReordering() throws Exception {
+		helpTest(
+			"<ul><li>1</li><li>2</li><li>3</li><li>4</li><li>5</li><li>6</li><li>7</li><li>8</li><li>9</li><li>10</li></ul>",
+			"<ul><li>1</li><li>2</li><li>7</li><li>4</li><li>5</li><li>3</li><li>6</li><li>9</li><li>8</li><li>10</li></ul>",
+			CHILD_INDICES,
+			true
+		);
+	}
+
+	@Test
+	public void testSpliceLongText() throws Exception {
+		final var sentence = "The quick brown fox jumps over the lazy dog. ";
+		final var commands = helpTest(
+			"<p>" + sentence.repeat(8) + "Before" + sentence.repeat(8) + "</p>",
+			"<p>" + sentence.repeat(8) + "After" + sentence.repeat(8) + "</p>",
+			INCREMENTAL
+		);
+		assertTrue(commands.contains("[10,"));
+	}
+
 	protected static final int PORT = 18230;
 	protected static final String URL = "http://localhost:" + PORT + '/';
 
@@ -334,12 +440,24 @@ public class FunctionalTest {
 	}
 
 	private static String helpTest(String beforeSnippet, String afterSnippet) throws Exception {
+		return helpTest(beforeSnippet, afterSnippet, WHOLE_VALUES);
+	}
+
+	private static String helpTest(String beforeSnippet, String afterSnippet, Granularity granularity) throws Exception {
+		return helpTest(beforeSnippet, afterSnippet, (before, after) -> getDifferencesAsJavaScript(before, after, CSS_SELECTORS, granularity, false));
+	}
+
+	private static String helpTest(String beforeSnippet, String afterSnippet, Addressing addressing, boolean useReferences) throws Exception {
+		return helpTest(beforeSnippet, afterSnippet, (before, after) -> getDifferencesAsJavaScript(before, after, addressing, WHOLE_VALUES, useReferences));
+	}
+
+	private static String helpTest(String beforeSnippet, String afterSnippet, Scripter scripter) throws Exception {
 		final var before = wrapSnippet(beforeSnippet);
 		final var after = wrapSnippet(afterSnippet);
 		content = before;
 		driver.get(URL);
 		driver.manage().timeouts().pageLoadTimeout(10, SECONDS);
-		final var javascript = getDifferencesAsJavaScript(before, after);
+		final var javascript = scripter.getDifferencesAsJavaScript(before, after);
 		final var wrappedJavaScript = wrapJavaScript(javascript);
 		final var exception = driver.executeScript(wrappedJavaScript);
 		if (exception instanceof final String message) {
@@ -350,23 +468,61 @@ public class FunctionalTest {
 		return javascript;
 	}
 
-	private static String getDifferencesAsJavaScript(String beforeHtml, String afterHtml) throws Exception {
+	private interface Scripter {
+		String getDifferencesAsJavaScript(String beforeHtml, String afterHtml) throws Exception;
+	}
+
+	private static String getDifferencesAsJavaScript(
+		String beforeHtml,
+		String afterHtml,
+		Addressing addressing,
+		Granularity granularity,
+		boolean useReferences
+	) throws Exception {
 		final var writer = new StringWriter();
-		try (final var stream = FunctionalTest.class.getResourceAsStream("/DeltaDOM.js")) {
-			writer.write(new String(toByteArray(stream), UTF_8).replaceAll("\\bexport\\b", ""));
-		}
+		writer.write(readScript("/DeltaDOM.js"));
 		writer.write("execute(");
-		try (final var scripter = new JSONDifferenceHandler(writer)) {
+		try (final var scripter = new JSONDifferenceHandler(writer, useReferences)) {
 			final var before = toHtmlDocument(beforeHtml);
 			final var after = toHtmlDocument(afterHtml);
 			final var matches = NodeMatches.between(before, after);
-			final var delta = new DeltaDOM<>(before, after, matches, scripter);
+			final var delta = new DeltaDOM<>(before, after, matches, scripter, IN_PLACE, addressing, granularity);
 			delta.find();
 		}
 		writer.write(");");
 		return writer.toString();
 	}
 
+	private static String getDifferencesAsBinaryJavaScript(String beforeHtml, String afterHtml) throws Exception {
+		final var bytes = new ByteArrayOutputStream();
+		try (final var scripter = new BinaryDifferenceHandler(bytes)) {
+			final var before = toHtmlDocument(beforeHtml);
+			final var after = toHtmlDocument(afterHtml);
+			final var matches = NodeMatches.between(before, after);
+			final var delta = new DeltaDOM<>(before, after, matches, scripter);
+			delta.find();
+		}
+		final var writer = new StringWriter();
+		writer.write(readScript("/DeltaDOM.js"));
+		writer.write(readScript("/DeltaDOMBinary.js"));
+		writer.write("executeBinary(new Uint8Array([");
+		final var message = bytes.toByteArray();
+		for (var index = 0; index < message.length; index ++) {
+			if (index > 0) {
+				writer.write(',');
+			}
+			writer.write(Integer.toString(message[index] & 0xff));
+		}
+		writer.write("]));");
+		return writer.toString();
+	}
+
+	private static String readScript(String name) throws IOException {
+		try (final var stream = FunctionalTest.class.getResourceAsStream(name)) {
+			return new String(toByteArray(stream), UTF_8).replaceAll("(?m)^import .*$", "").replaceAll("\\bexport\\b", "");
+		}
+	}
+
 	private static String wrapJavaScript(String javascript) {
 		final var writer = new StringWriter();
 		writer.write("try {");
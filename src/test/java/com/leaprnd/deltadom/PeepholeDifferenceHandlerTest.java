@@ -0,0 +1,80 @@
+package com.leaprnd.deltadom;
+
+import com.leaprnd.deltadom.json.JSONDifferenceHandler;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static com.leaprnd.deltadom.selectors.Position.toInsertPosition;
+import static com.leaprnd.deltadom.selectors.Selector.toSelector;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PeepholeDifferenceHandlerTest {
+
+	@Test
+	public void testRunOfDeletesIsMerged() throws IOException, ParserConfigurationException, SAXException {
+		final var before = parse("<html><body><p>One<!--Two-->Three<b>Four</b></p></body></html>");
+		final var after = parse("<html><body><p><b>Four</b></p></body></html>");
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output)) {
+			final var peephole = new PeepholeDifferenceHandler<>(json);
+			new DeltaDOM<>(before, after, NodeMatches.between(before, after), peephole).find();
+			peephole.flush();
+		}
+		assertEquals("[[15,\"html>body>p\",0,3]]", output.toString());
+	}
+
+	@Test
+	public void testRunOfDeletedRowsIsMerged() throws IOException, ParserConfigurationException, SAXException {
+		final var before = parse("<html><body><ul id='l'><li>One</li> <li>Two</li> <li>Three</li> <li>Four</li></ul></body></html>");
+		final var after = parse("<html><body><ul id='l'><li>One</li></ul></body></html>");
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output)) {
+			final var peephole = new PeepholeDifferenceHandler<>(json);
+			new DeltaDOM<>(before, after, NodeMatches.between(before, after), peephole).find();
+			peephole.flush();
+		}
+		assertEquals("[[15,\"#l\",1,6]]", output.toString());
+	}
+
+	@Test
+	public void testAdjacentOperationsAreFolded() throws IOException, ParserConfigurationException, SAXException {
+		final var document = parse("<html><body><p>One</p><p id='two'>Two</p></body></html>");
+		final var body = document.getDocumentElement().getLastChild();
+		final var first = toSelector((Element) body.getFirstChild());
+		final var second = toSelector((Element) body.getLastChild());
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output)) {
+			final var peephole = new PeepholeDifferenceHandler<>(json);
+			peephole.onSetAttribute(first, "title", "a");
+			peephole.onSetAttribute(first, "title", "b");
+			peephole.onSetAttribute(second, "title", "c");
+			peephole.onRemoveAttribute(second, "title");
+			peephole.onSetAttribute(second, "id", "three");
+			peephole.onAddClass(first, "x", "x");
+			peephole.onRemoveClass(first, "x", "");
+			peephole.onInsertText(toInsertPosition(body.getFirstChild(), 1), "Five");
+			peephole.onSetValue(toInsertPosition(body.getFirstChild(), 1), "Six");
+			peephole.onSpliceValue(toInsertPosition(body.getFirstChild(), 1), 1, 1, "eve", "Sevex");
+			peephole.onSetValue(toInsertPosition(body.getFirstChild(), 0), "Seven");
+			peephole.onSetValue(toInsertPosition(body.getFirstChild(), 0), "Eight");
+			peephole.onDeleteNode(toInsertPosition(body.getFirstChild(), 0));
+			peephole.flush();
+		}
+		assertEquals("[[8,\"html>body>p:first-of-type\",\"title\",\"b\"],[7,\"#two\",\"title\"],[8,\"#two\",\"id\",\"three\"],[12,\"html>body>p:first-of-type\",\"x\"],[4,\"html>body>p:first-of-type\",1,\"Sevex\"],[9,\"html>body>p:first-of-type\",0,\"Eight\"],[0,\"html>body>p:first-of-type\",0]]", output.toString());
+	}
+
+	private static Document parse(String html) throws IOException, ParserConfigurationException, SAXException {
+		return newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(html)));
+	}
+
+}
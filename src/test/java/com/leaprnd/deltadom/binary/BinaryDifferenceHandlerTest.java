@@ -0,0 +1,59 @@
+package com.leaprnd.deltadom.binary;
+
+import com.leaprnd.deltadom.selectors.Position;
+import com.leaprnd.deltadom.selectors.Selector;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class BinaryDifferenceHandlerTest {
+
+	@Test
+	public void testRepeatedNamesAreReferenced() throws IOException, ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var list = document.createElement("ul");
+		list.setAttribute("id", "list");
+		document.appendChild(list);
+		final var selector = Selector.toSelector(list);
+		final var output = new ByteArrayOutputStream();
+		try (final var handler = new BinaryDifferenceHandler(output)) {
+			handler.onSetAttribute(selector, "class", "on");
+			handler.onSetAttribute(selector, "class", "off");
+			handler.onInsertText(new Position(selector, 200), "é😀");
+		}
+		final var expected = new ByteArrayOutputStream();
+		expected.write(new byte[] { 8, 0, 5 });
+		expected.write("#list".getBytes(UTF_8));
+		expected.write(new byte[] { 0, 5 });
+		expected.write("class".getBytes(UTF_8));
+		expected.write(new byte[] { 0, 2 });
+		expected.write("on".getBytes(UTF_8));
+		expected.write(new byte[] { 8, 1, 2, 0, 3 });
+		expected.write("off".getBytes(UTF_8));
+		expected.write(new byte[] { 4, 1, (byte) 0xc8, 0x01, 6 });
+		expected.write("é😀".getBytes(UTF_8));
+		assertArrayEquals(expected.toByteArray(), output.toByteArray());
+	}
+
+	@Test
+	public void testTextIsEncodedAsUTF8() throws IOException {
+		final var text = "aÿࠀ￿😀\ud800b\udc00";
+		final var output = new ByteArrayOutputStream();
+		try (final var writer = new BinaryWriter(output)) {
+			writer.value(text);
+		}
+		final var bytes = text.getBytes(UTF_8);
+		final var expected = new ByteArrayOutputStream();
+		expected.write(bytes.length);
+		expected.write(bytes);
+		assertArrayEquals(expected.toByteArray(), output.toByteArray());
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.leaprnd.deltadom.json;
+
+import com.leaprnd.deltadom.DeltaDOM;
+import com.leaprnd.deltadom.DifferenceHandler;
+import com.leaprnd.deltadom.Granularity;
+import com.leaprnd.deltadom.matching.NodeMatches;
+import com.leaprnd.deltadom.selectors.Position;
+import com.leaprnd.deltadom.selectors.Selector;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static com.leaprnd.deltadom.Addressing.CHILD_INDICES;
+import static com.leaprnd.deltadom.Addressing.CSS_SELECTORS;
+import static com.leaprnd.deltadom.DiffMode.IN_PLACE;
+import static com.leaprnd.deltadom.Granularity.INCREMENTAL;
+import static com.leaprnd.deltadom.Granularity.WHOLE_VALUES;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JSONDifferenceHandlerTest {
+
+	@Test
+	public void testRepeatedSelectorsAreReferenced() throws IOException, ParserConfigurationException, SAXException {
+		final var before = parse("<html><body><ul><li class='a' title='1'>One</li><li class='a' title='2'>Two</li></ul></body></html>");
+		final var after = parse("<html><body><ul class='list'><li class='b' title='1'>One!</li><li class='b' title='2'>Two!</li></ul></body></html>");
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output, true)) {
+			new DeltaDOM<>(before, after, NodeMatches.between(before, after), json).find();
+		}
+		assertEquals("[[8,\"html>body>ul\",\"class\",\"list\"],[8,[0,\"li:first-of-type\"],\"class\",\"b\"],[8,[0,\"li:last-of-type\"],\"class\",\"b\"],[9,1,0,\"One!\"],[9,2,0,\"Two!\"]]", output.toString());
+	}
+
+	@Test
+	public void testChildIndicesAddressing() throws IOException, ParserConfigurationException, SAXException {
+		final var before = parse("<html><body><p>Intro</p><div id='main'><ul><li>One</li><li>Two</li></ul></div></body></html>");
+		final var after = parse("<html><body><p>Intro!</p><div id='main'><ul><li>One</li><li class='last'>Two</li></ul></div></body></html>");
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output)) {
+			new DeltaDOM<>(before, after, NodeMatches.between(before, after), json, IN_PLACE, CHILD_INDICES).find();
+		}
+		assertEquals("[[9,\"html>0>0\",0,\"Intro!\"],[8,\"#main>0>1\",\"class\",\"last\"]]", output.toString());
+	}
+
+	@Test
+	public void testIncrementalUpdatesAreOptIn() throws IOException, ParserConfigurationException, SAXException {
+		final var text = "The quick brown fox jumps over the lazy dog. ".repeat(8);
+		final var before = "<html><body><p class='alpha beta gamma delta epsilon eta theta iota kappa'>" + text + "Before</p></body></html>";
+		final var after = "<html><body><p class='alpha beta gamma delta epsilon eta theta iota kappa lambda'>" + text + "After</p></body></html>";
+		assertEquals(
+			"[[8,\"html>body>p\",\"class\",\"alpha beta gamma delta epsilon eta theta iota kappa lambda\"],[9,\"html>body>p\",0,\"" + text + "After\"]]",
+			diff(before, after, WHOLE_VALUES)
+		);
+		assertEquals("[[11,\"html>body>p\",\"lambda\"],[10,\"html>body>p\",0,360,6,\"After\"]]", diff(before, after, INCREMENTAL));
+	}
+
+	@Test
+	public void testIncrementalUpdatesFallBackToWholeValues() throws IOException, ParserConfigurationException, SAXException {
+		final var text = "The quick brown fox jumps over the lazy dog. ".repeat(8);
+		final var before = "<html><body><p class='alpha beta gamma delta epsilon eta theta iota kappa' style='color: red; margin: 0 auto 0 auto; padding: 1em'>" + text + "Before</p></body></html>";
+		final var after = "<html><body><p class='alpha beta gamma delta epsilon eta theta iota kappa lambda' style='color: blue; margin: 0 auto 0 auto; padding: 1em'>" + text + "After</p></body></html>";
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output)) {
+			final var beforeDocument = parse(before);
+			final var afterDocument = parse(after);
+			final var matches = NodeMatches.between(beforeDocument, afterDocument);
+			new DeltaDOM<>(beforeDocument, afterDocument, matches, new PlainDifferenceHandler(json), IN_PLACE, CSS_SELECTORS, INCREMENTAL).find();
+		}
+		assertEquals(diff(before, after, WHOLE_VALUES), output.toString());
+	}
+
+	private static String diff(String beforeHtml, String afterHtml, Granularity granularity) throws IOException, ParserConfigurationException, SAXException {
+		final var before = parse(beforeHtml);
+		final var after = parse(afterHtml);
+		final var output = new StringBuilder();
+		try (final var json = new JSONDifferenceHandler(output)) {
+			new DeltaDOM<>(before, after, NodeMatches.between(before, after), json, IN_PLACE, CSS_SELECTORS, granularity).find();
+		}
+		return output.toString();
+	}
+
+	private record PlainDifferenceHandler(JSONDifferenceHandler json) implements DifferenceHandler<IOException> {
+
+		@Override
+		public void onDeleteNode(Position position) throws IOException {
+			json.onDeleteNode(position);
+		}
+
+		@Override
+		public void onDeleteElement(Selector element) throws IOException {
+			json.onDeleteElement(element);
+		}
+
+		@Override
+		public void onInsertComment(Position parent, String content) throws IOException {
+			json.onInsertComment(parent, content);
+		}
+
+		@Override
+		public void onInsertElement(Position parent, String tagName, NamedNodeMap attributes) throws IOException {
+			json.onInsertElement(parent, tagName, attributes);
+		}
+
+		@Override
+		public void onInsertText(Position position, String text) throws IOException {
+			json.onInsertText(position, text);
+		}
+
+		@Override
+		public void onMoveNode(Position oldPosition, Position newPosition) throws IOException {
+			json.onMoveNode(oldPosition, newPosition);
+		}
+
+		@Override
+		public void onMoveElement(Selector element, Position newPosition) throws IOException {
+			json.onMoveElement(element, newPosition);
+		}
+
+		@Override
+		public void onRemoveAttribute(Selector element, String name) throws IOException {
+			json.onRemoveAttribute(element, name);
+		}
+
+		@Override
+		public void onSetAttribute(Selector element, String name, String value) throws IOException {
+			json.onSetAttribute(element, name, value);
+		}
+
+		@Override
+		public void onSetValue(Position position, String newValue) throws IOException {
+			json.onSetValue(position, newValue);
+		}
+
+	}
+
+	private static Document parse(String html) throws IOException, ParserConfigurationException, SAXException {
+		return newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(html)));
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.leaprnd.deltadom.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static java.nio.channels.Channels.newChannel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JSONWriterTest {
+
+	private static final String ALPHABET = "ab \"\\\n\r\t\u0001\u007f\u0085\u2028é中😀\ud800";
+
+	@Test
+	public void testEscaping() throws IOException {
+		final var output = new StringBuilder();
+		try (final var array = new JSONWriter(output).array()) {
+			array.value("plain \"quoted\" back\\slash\n\r\t\u0001\u007f\u2028é中😀");
+			array.value(0);
+			array.value(7);
+			array.value(10);
+			array.value(Integer.MAX_VALUE);
+			array.value(-5);
+			try (final var nested = array.array()) {
+				nested.value("");
+			}
+		}
+		assertEquals("[\"plain \\\"quoted\\\" back\\\\slash\\n\\r\\t\\u0001\\u007F\\u2028é中😀\",0,7,10,2147483647,-5,[\"\"]]", output.toString());
+	}
+
+	@Test
+	public void testUTF8MatchesStringEncoding() throws IOException {
+		final var random = new Random(1);
+		for (var step = 0; step < 500; step ++) {
+			final var builder = new StringBuilder();
+			final var length = random.nextInt(100);
+			for (var index = 0; index < length; index ++) {
+				builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+			final var text = builder.toString();
+			final var output = new ByteArrayOutputStream();
+			final var writer = new UTF8Writer(newChannel(output), 4 + random.nextInt(16));
+			var start = 0;
+			while (start < text.length()) {
+				final var end = start + random.nextInt(text.length() - start + 1);
+				if (end == start + 1) {
+					writer.append(text.charAt(start));
+				} else {
+					writer.append(text, start, end);
+				}
+				start = end;
+			}
+			writer.flush();
+			assertArrayEquals(text.getBytes(UTF_8), output.toByteArray(), text);
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.leaprnd.deltadom.marriage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static com.leaprnd.deltadom.marriage.AssignmentStrategy.HUNGARIAN;
+import static com.leaprnd.deltadom.marriage.AssignmentStrategy.SORTED_EDGE_GREEDY;
+import static com.leaprnd.deltadom.marriage.AssignmentStrategy.STABLE_MARRIAGE;
+import static java.lang.Float.NEGATIVE_INFINITY;
+import static java.lang.Float.POSITIVE_INFINITY;
+import static java.lang.Math.min;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AssignmentSolverTest {
+
+	@Test
+	public void testEveryStrategyMarriesTheSmallerSide() {
+		final var random = new Random();
+		for (final var strategy : AssignmentStrategy.values()) {
+			for (var index = 0; index < 200; index ++) {
+				final var width = random.nextInt(40) + 1;
+				final var height = random.nextInt(40) + 1;
+				final var strengths = newRandomGrid(random, width, height);
+				assertEquals(min(width, height), solve(strategy, strengths, width, height).size());
+			}
+		}
+	}
+
+	@Test
+	public void testGreedyMatchesStableMarriage() {
+		final var random = new Random();
+		for (var index = 0; index < 500; index ++) {
+			final var width = random.nextInt(60) + 1;
+			final var height = random.nextInt(60) + 1;
+			final var strengths = newRandomGrid(random, width, height);
+			assertEquals(
+				solve(STABLE_MARRIAGE, strengths, width, height),
+				solve(SORTED_EDGE_GREEDY, strengths, width, height)
+			);
+		}
+	}
+
+	@Test
+	public void testHungarianIsOptimal() {
+		final var random = new Random();
+		for (var index = 0; index < 500; index ++) {
+			final var width = random.nextInt(6) + 1;
+			final var height = random.nextInt(6) + 1;
+			final var strengths = newRandomGrid(random, width, height);
+			final var marriages = solve(HUNGARIAN, strengths, width, height);
+			var total = 0f;
+			for (final var marriage : marriages.entrySet()) {
+				total += strengths[marriage.getKey()][marriage.getValue()];
+			}
+			final var best = width <= height
+				? findBestTotal(strengths, 0, width, new boolean[height], false)
+				: findBestTotal(strengths, 0, height, new boolean[width], true);
+			assertEquals(best, total, 1e-4f);
+		}
+	}
+
+	@Test
+	public void testHungarianToleratesInfiniteStrengths() {
+		final var strengths = new float[][] {
+			{ POSITIVE_INFINITY, 2f, NEGATIVE_INFINITY },
+			{ 1f, POSITIVE_INFINITY, 3f },
+			{ NEGATIVE_INFINITY, 4f, POSITIVE_INFINITY }
+		};
+		final var marriages = solve(HUNGARIAN, strengths, 3, 3);
+		for (var man = 0; man < 3; man ++) {
+			assertEquals(man, marriages.get(man));
+		}
+	}
+
+	@Test
+	public void testGreedyHandlesLargeStaircase() {
+		final var size = 2000;
+		final var strengths = new float[size][size];
+		for (var index = 0; index < size; index ++) {
+			strengths[index][index] = 2 * index + 1;
+			if (index + 1 < size) {
+				strengths[index + 1][index] = 2 * index + 2;
+			}
+		}
+		final var marriages = solve(SORTED_EDGE_GREEDY, strengths, size, size);
+		assertEquals(size, marriages.size());
+		assertTrue(marriages.containsValue(size - 1));
+	}
+
+	private static float[][] newRandomGrid(Random random, int width, int height) {
+		final var strengths = new float[width][height];
+		for (var x = 0; x < width; x ++) {
+			for (var y = 0; y < height; y ++) {
+				strengths[x][y] = random.nextFloat() * 2 - 1;
+			}
+		}
+		return strengths;
+	}
+
+	private static HashMap<Integer, Integer> solve(AssignmentSolver solver, float[][] strengths, int width, int height) {
+		final var marriages = new HashMap<Integer, Integer>();
+		final var women = new HashMap<Integer, Integer>();
+		solver.solve(width, height, (man, woman) -> strengths[man][woman], (man, woman, strength) -> {
+			assertEquals(null, marriages.put(man, woman));
+			assertEquals(null, women.put(woman, man));
+			assertEquals(strengths[man][woman], strength);
+		});
+		return marriages;
+	}
+
+	private static float findBestTotal(float[][] strengths, int row, int rows, boolean[] used, boolean transposed) {
+		if (row == rows) {
+			return 0;
+		}
+		var best = NEGATIVE_INFINITY;
+		for (var column = 0; column < used.length; column ++) {
+			if (used[column]) {
+				continue;
+			}
+			used[column] = true;
+			final var strength = transposed ? strengths[column][row] : strengths[row][column];
+			best = Math.max(best, strength + findBestTotal(strengths, row + 1, rows, used, transposed));
+			used[column] = false;
+		}
+		return best;
+	}
+
+}
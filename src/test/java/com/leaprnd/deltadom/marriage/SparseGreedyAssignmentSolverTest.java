@@ -0,0 +1,81 @@
+package com.leaprnd.deltadom.marriage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SparseGreedyAssignmentSolverTest {
+
+	@Test
+	public void testCompleteGridsMatchDenseSolver() {
+		final var random = new Random();
+		for (var index = 0; index < 1000; index ++) {
+			final var width = random.nextInt(50) + 1;
+			final var height = random.nextInt(50) + 1;
+			final var strengths = new float[width][height];
+			for (var x = 0; x < width; x ++) {
+				for (var y = 0; y < height; y ++) {
+					strengths[x][y] = random.nextFloat() * 2 - 1;
+				}
+			}
+			assertEquals(solveDensely(strengths, width, height), solveSparsely(strengths, width, height));
+		}
+	}
+
+	@Test
+	public void testMissingEdgesAreNeverMarried() {
+		final var marriages = new HashMap<Integer, Integer>();
+		final var solver = new SparseGreedyAssignmentSolver(3, 3);
+		solver.addPotentialMarriage(0, 1, 0.5f);
+		solver.addPotentialMarriage(1, 1, 0.75f);
+		solver.addPotentialMarriage(2, 2, -0.5f);
+		solver.solve((indexOfMan, indexOfWoman, strengthOfMarriage) -> marriages.put(indexOfMan, indexOfWoman));
+		assertEquals(2, marriages.size());
+		assertEquals(1, marriages.get(1));
+		assertEquals(2, marriages.get(2));
+	}
+
+	private static HashMap<Integer, Integer> solveDensely(float[][] strengths, int width, int height) {
+		final var marriages = new HashMap<Integer, Integer>();
+		new StableMarriageProblemSolver() {
+
+			@Override
+			protected float getStrengthOfPotentialMarriageBetween(int indexOfMan, int indexOfWoman) {
+				return strengths[indexOfMan][indexOfWoman];
+			}
+
+			@Override
+			protected int getNumberOfMen() {
+				return width;
+			}
+
+			@Override
+			protected int getNumberOfWomen() {
+				return height;
+			}
+
+			@Override
+			protected void onMarriageBetween(int indexOfMan, int indexOfWoman, float strengthOfMarriage) {
+				marriages.put(indexOfMan, indexOfWoman);
+			}
+
+		}.run();
+		return marriages;
+	}
+
+	private static HashMap<Integer, Integer> solveSparsely(float[][] strengths, int width, int height) {
+		final var marriages = new HashMap<Integer, Integer>();
+		final var solver = new SparseGreedyAssignmentSolver(width, height);
+		for (var x = 0; x < width; x ++) {
+			for (var y = 0; y < height; y ++) {
+				solver.addPotentialMarriage(x, y, strengths[x][y]);
+			}
+		}
+		solver.solve((indexOfMan, indexOfWoman, strengthOfMarriage) -> marriages.put(indexOfMan, indexOfWoman));
+		return marriages;
+	}
+
+}
@@ -0,0 +1,253 @@
+package com.leaprnd.deltadom.matching;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Text;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.leaprnd.deltadom.Similarity.PERFECT_MATCH;
+import static com.leaprnd.deltadom.marriage.AssignmentStrategy.STABLE_MARRIAGE;
+import static com.leaprnd.deltadom.matching.MatchingOptions.DEFAULT_MATCHING_OPTIONS;
+import static com.leaprnd.deltadom.matching.MatchingStrategy.HIERARCHICAL;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NodeMatchesTest {
+
+	@Test
+	public void testParallelMatchesSequential() throws ParserConfigurationException {
+		final var before = render(new Random(1));
+		final var after = render(new Random(2));
+		final var expected = NodeMatches.between(before, after);
+		final var pool = new ForkJoinPool(4);
+		try {
+			assertSameMatches(before, after, expected, NodeMatches.between(before, after, pool));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelMatchesSequentialWithinBudget() throws ParserConfigurationException {
+		final var before = render(new Random(1));
+		final var after = render(new Random(2));
+		final var pool = new ForkJoinPool(4);
+		try {
+			for (final var maxCells : new long[] {10, 100, 1000, 10000, 100000}) {
+				final var options = DEFAULT_MATCHING_OPTIONS.withMaxCells(maxCells);
+				for (var attempt = 0; attempt < 10; attempt ++) {
+					final var expected = NodeMatches.between(before, after, options);
+					final var actual = NodeMatches.between(before, after, pool, options);
+					assertEquals(expected.isDegraded(), actual.isDegraded());
+					assertSameMatches(before, after, expected, actual);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testDefaultAssignmentIsStableMarriage() throws ParserConfigurationException {
+		final var before = render(new Random(1));
+		final var after = render(new Random(2));
+		final var expected = NodeMatches.between(before, after, DEFAULT_MATCHING_OPTIONS.withAssignmentStrategy(STABLE_MARRIAGE));
+		assertSameMatches(before, after, expected, NodeMatches.between(before, after));
+	}
+
+	private static void assertSameMatches(Document before, Document after, NodeMatches expected, NodeMatches actual) {
+		final var snapshot = Snapshot.of(before);
+		for (var index = 0; index < snapshot.size(); index ++) {
+			final var node = snapshot.getNode(index);
+			assertEquals(expected.getAfterOf(node), actual.getAfterOf(node));
+		}
+		final var afterSnapshot = Snapshot.of(after);
+		for (var index = 0; index < afterSnapshot.size(); index ++) {
+			final var node = afterSnapshot.getNode(index);
+			assertEquals(expected.getBeforeOf(node), actual.getBeforeOf(node));
+		}
+	}
+
+	@Test
+	public void testEditedTextIsMatched() throws ParserConfigurationException {
+		final var before = newInstance().newDocumentBuilder().newDocument();
+		final var after = newInstance().newDocumentBuilder().newDocument();
+		final var beforeBody = before.createElement("body");
+		final var afterBody = after.createElement("body");
+		before.appendChild(beforeBody);
+		after.appendChild(afterBody);
+		final var beforeTexts = new Text[100];
+		final var afterTexts = new Text[100];
+		for (var index = 0; index < beforeTexts.length; index ++) {
+			beforeTexts[index] = before.createTextNode("Quote " + index + ": " + (index * 7) + ".25 USD");
+			afterTexts[index] = after.createTextNode("Quote " + index + ": " + (index * 7) + ".30 USD");
+			beforeBody.appendChild(before.createElement("span")).appendChild(beforeTexts[index]);
+			afterBody.appendChild(after.createElement("span")).appendChild(afterTexts[index]);
+		}
+		final var unrelated = before.createTextNode("Market closed");
+		beforeBody.appendChild(unrelated);
+		afterBody.appendChild(after.createTextNode("Trading halted"));
+		final var matches = NodeMatches.between(before, after);
+		for (var index = 0; index < beforeTexts.length; index ++) {
+			assertEquals(afterTexts[index], matches.getAfterOf(beforeTexts[index]).node());
+		}
+		assertNull(matches.getAfterOf(unrelated));
+	}
+
+	@Test
+	public void testKeyAttributesMatchRowsDirectly() throws ParserConfigurationException {
+		final var before = newInstance().newDocumentBuilder().newDocument();
+		final var after = newInstance().newDocumentBuilder().newDocument();
+		final var beforeList = before.createElement("ul");
+		final var afterList = after.createElement("ul");
+		before.appendChild(beforeList);
+		after.appendChild(afterList);
+		final var random = new Random(3);
+		final var rows = 1000;
+		for (var index = 0; index < rows; index ++) {
+			final var beforeRow = before.createElement("li");
+			beforeRow.setAttribute("data-key", "row-" + index);
+			beforeRow.setAttribute("class", "state-" + random.nextInt(3));
+			beforeList.appendChild(beforeRow);
+			final var afterRow = after.createElement("li");
+			afterRow.setAttribute("data-key", "row-" + (rows - 1 - index));
+			afterRow.setAttribute("class", "state-" + random.nextInt(3));
+			afterList.appendChild(afterRow);
+		}
+		final var options = DEFAULT_MATCHING_OPTIONS.withKeyAttributes("data-key");
+		final var matches = NodeMatches.between(before, after, options);
+		for (var row = beforeList.getFirstChild(); row != null; row = row.getNextSibling()) {
+			final var match = (Element) matches.getAfterNodeOf(row);
+			assertEquals(((Element) row).getAttribute("data-key"), match.getAttribute("data-key"));
+		}
+	}
+
+	@Test
+	public void testIdsTakePrecedenceOverKeyAttributes() throws ParserConfigurationException {
+		final var before = newInstance().newDocumentBuilder().newDocument();
+		final var after = newInstance().newDocumentBuilder().newDocument();
+		final var beforeList = before.createElement("ul");
+		final var afterList = after.createElement("ul");
+		before.appendChild(beforeList);
+		after.appendChild(afterList);
+		final var beforeRow = before.createElement("li");
+		beforeRow.setAttribute("id", "row");
+		beforeRow.setAttribute("data-key", "old");
+		beforeList.appendChild(beforeRow);
+		final var afterRow = after.createElement("li");
+		afterRow.setAttribute("id", "row");
+		afterRow.setAttribute("data-key", "new");
+		afterList.appendChild(afterRow);
+		final var options = DEFAULT_MATCHING_OPTIONS.withKeyAttributes("data-key");
+		final var matches = NodeMatches.between(before, after, options);
+		assertEquals(afterRow, matches.getAfterNodeOf(beforeRow));
+	}
+
+	@Test
+	public void testExhaustedBudgetFallsBackToPositions() throws ParserConfigurationException {
+		final var before = render(new Random(1));
+		final var after = render(new Random(2));
+		assertFalse(NodeMatches.between(before, after).isDegraded());
+		final var budgets = new MatchingOptions[] {
+			DEFAULT_MATCHING_OPTIONS.withMaxCells(0),
+			DEFAULT_MATCHING_OPTIONS.withTimeout(Duration.ZERO),
+			DEFAULT_MATCHING_OPTIONS.withCancellation(() -> true)
+		};
+		for (final var options : budgets) {
+			final var matches = NodeMatches.between(before, after, options);
+			assertTrue(matches.isDegraded());
+			final var beforeLists = before.getDocumentElement().getChildNodes();
+			final var afterLists = after.getDocumentElement().getChildNodes();
+			for (var section = 0; section < beforeLists.getLength(); section ++) {
+				final var beforeItems = beforeLists.item(section).getChildNodes();
+				final var afterItems = afterLists.item(section).getChildNodes();
+				var matched = 0;
+				for (var index = 0; index < beforeItems.getLength(); index ++) {
+					final var match = matches.getAfterOf(beforeItems.item(index));
+					if (match == null) {
+						continue;
+					}
+					if (match.similarity() != PERFECT_MATCH) {
+						assertEquals(afterItems.item(index), match.node());
+					}
+					matched ++;
+				}
+				assertTrue(matched > beforeItems.getLength() * 9 / 10);
+			}
+		}
+	}
+
+	@Test
+	public void testHierarchicalMatchingStaysWithinMatchedParents() throws ParserConfigurationException {
+		final var before = newInstance().newDocumentBuilder().newDocument();
+		final var after = newInstance().newDocumentBuilder().newDocument();
+		final var beforeBody = before.createElement("body");
+		final var afterBody = after.createElement("body");
+		before.appendChild(beforeBody);
+		after.appendChild(afterBody);
+		for (final var id : new String[] { "a", "b" }) {
+			final var beforeList = before.createElement("ul");
+			final var afterList = after.createElement("ul");
+			beforeList.setAttribute("id", id);
+			afterList.setAttribute("id", id);
+			beforeBody.appendChild(beforeList);
+			afterBody.appendChild(afterList);
+			for (var index = 0; index < 50; index ++) {
+				final var beforeRow = before.createElement("li");
+				final var afterRow = after.createElement("li");
+				beforeRow.setAttribute("data-row", id + "-" + index);
+				afterRow.setAttribute("data-row", (id.equals("a") ? "b" : "a") + "-" + index);
+				beforeRow.appendChild(before.createTextNode("Row " + index));
+				afterRow.appendChild(after.createTextNode("Row " + index + "!"));
+				beforeList.appendChild(beforeRow);
+				afterList.appendChild(afterRow);
+			}
+		}
+		final var options = DEFAULT_MATCHING_OPTIONS.withStrategy(HIERARCHICAL);
+		final var expected = NodeMatches.between(before, after, options);
+		final var pool = new ForkJoinPool(4);
+		try {
+			final var actual = NodeMatches.between(before, after, pool, options);
+			for (var list = beforeBody.getFirstChild(); list != null; list = list.getNextSibling()) {
+				final var listMatch = expected.getAfterNodeOf(list);
+				assertEquals(((Element) list).getAttribute("id"), ((Element) listMatch).getAttribute("id"));
+				for (var row = list.getFirstChild(); row != null; row = row.getNextSibling()) {
+					final var rowMatch = expected.getAfterNodeOf(row);
+					assertEquals(listMatch, rowMatch.getParentNode());
+					assertEquals(rowMatch, actual.getAfterNodeOf(row));
+					assertEquals(expected.getAfterOf(row.getFirstChild()), actual.getAfterOf(row.getFirstChild()));
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static Document render(Random random) throws ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var body = document.createElement("body");
+		document.appendChild(body);
+		for (var section = 0; section < 10; section ++) {
+			final var list = document.createElement("ul");
+			list.setAttribute("class", "section-" + section);
+			body.appendChild(list);
+			for (var index = 0; index < 150; index ++) {
+				final var item = document.createElement("item-" + section);
+				item.setAttribute("class", "kind-" + random.nextInt(4));
+				item.appendChild(document.createTextNode("Item " + random.nextInt(1000)));
+				list.appendChild(item);
+			}
+		}
+		return document;
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.leaprnd.deltadom.matching;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import static com.leaprnd.deltadom.Similarity.GOOD_MATCH;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SimilarityGridTest {
+
+	@Test
+	public void testSparseGridMatchesByAttributes() throws ParserConfigurationException {
+		final var random = new Random(7);
+		final var skus = new ArrayList<Integer>();
+		for (var sku = 0; sku < 1000; sku ++) {
+			skus.add(sku);
+		}
+		final var before = render(skus, "before");
+		Collections.shuffle(skus, random);
+		final var after = render(skus, "after");
+		final var matches = NodeMatches.between(before, after);
+		final var calculator = new ElementCalculator(new SnapshotPair(Snapshot.of(before), Snapshot.of(after)));
+		final var cards = before.getElementsByTagName("div");
+		for (var index = 0; index < cards.getLength(); index ++) {
+			final var card = (Element) cards.item(index);
+			final var match = (Element) matches.getAfterNodeOf(card);
+			assertEquals(GOOD_MATCH, calculator.getSimilarityOf(card, match));
+		}
+	}
+
+	@Test
+	public void testBatchedScoresMatchPairwiseScores() throws ParserConfigurationException {
+		final var random = new Random(11);
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var body = document.createElement("body");
+		document.appendChild(body);
+		final var elements = new ArrayList<Element>();
+		for (var index = 0; index < 100; index ++) {
+			final var element = document.createElement("div");
+			for (var attribute = random.nextInt(6); attribute > 0; attribute --) {
+				element.setAttribute("data-" + random.nextInt(8), Integer.toString(random.nextInt(4)));
+			}
+			body.appendChild(element);
+			elements.add(element);
+		}
+		final var snapshot = Snapshot.of(document);
+		final var calculator = new ElementCalculator(new SnapshotPair(snapshot, snapshot));
+		final var yFingerprints = new long[elements.size() * 16];
+		for (var index = 0; index < elements.size(); index ++) {
+			System.arraycopy(calculator.getFingerprintOfY(elements.get(index)), 0, yFingerprints, index * 16, 16);
+		}
+		final var similarities = new float[elements.size()];
+		for (final var x : elements) {
+			calculator.getSimilaritiesOf(calculator.getFingerprintOfX(x), yFingerprints, similarities);
+			for (var index = 0; index < elements.size(); index ++) {
+				assertEquals(calculator.getSimilarityOf(x, elements.get(index)), similarities[index]);
+			}
+		}
+	}
+
+	private static Document render(Iterable<Integer> skus, String label) throws ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var body = document.createElement("body");
+		document.appendChild(body);
+		for (final var sku : skus) {
+			final var card = document.createElement("div");
+			card.setAttribute("class", "card");
+			card.setAttribute("data-sku", Integer.toString(sku));
+			card.appendChild(document.createTextNode(label + " " + sku));
+			body.appendChild(card);
+		}
+		return document;
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.leaprnd.deltadom.matching;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.leaprnd.deltadom.matching.Snapshot.NONE;
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.w3c.dom.Node.ELEMENT_NODE;
+
+public class SnapshotTest {
+
+	private static final String HTML = """
+		<!DOCTYPE html>
+		<html lang="en">
+			<head>
+				<title>Test</title>
+			</head>
+			<body class="a b" id="body">
+				<p>a<!--b--><span title="c">d</span></p>
+				<ul><li>1</li><li>2</li><li>3</li></ul>
+				<div><div><div>deep</div></div></div>
+			</body>
+		</html>
+		""";
+
+	@Test
+	public void testStructureMirrorsDocument() throws IOException, SAXException, ParserConfigurationException {
+		final var document = loadDocument();
+		final var snapshot = Snapshot.of(document);
+		assertSame(document, snapshot.getNode(0));
+		assertEquals(NONE, snapshot.getParent(0));
+		assertEquals(snapshot.size(), snapshot.getEndOf(0));
+		for (var index = 0; index < snapshot.size(); index ++) {
+			final var node = snapshot.getNode(index);
+			assertEquals(index, snapshot.indexOf(node));
+			assertEquals(node.getNodeType(), snapshot.getType(index));
+			assertSame(node.getParentNode(), index == 0 ? null : snapshot.getNode(snapshot.getParent(index)));
+			assertSame(node.getFirstChild(), toNode(snapshot, snapshot.getFirstChild(index)));
+			assertSame(node.getNextSibling(), toNode(snapshot, snapshot.getNextSibling(index)));
+			assertSame(index == 0 ? null : node.getPreviousSibling(), toNode(snapshot, snapshot.getPreviousSibling(index)));
+			assertEquals(index + countDescendantsOf(node) + 1, snapshot.getEndOf(index));
+			if (node.getNodeType() == ELEMENT_NODE) {
+				assertEquals(node.getNodeName(), snapshot.getName(index));
+				final var attributes = node.getAttributes();
+				final var firstAttribute = snapshot.getFirstAttributeOf(index);
+				assertEquals(attributes.getLength(), snapshot.getEndOfAttributesOf(index) - firstAttribute);
+				for (var offset = 0; offset < attributes.getLength(); offset ++) {
+					assertEquals(attributes.item(offset).getNodeName(), snapshot.getAttributeName(firstAttribute + offset));
+					assertEquals(attributes.item(offset).getNodeValue(), snapshot.getAttributeValue(firstAttribute + offset));
+				}
+			} else {
+				assertEquals(snapshot.getFirstAttributeOf(index), snapshot.getEndOfAttributesOf(index));
+			}
+		}
+		assertNull(toNode(snapshot, snapshot.indexOf(document.createElement("p"))));
+	}
+
+	@Test
+	public void testChecksumsMatchEquivalentDocuments() throws IOException, SAXException, ParserConfigurationException {
+		final var snapshot = Snapshot.of(loadDocument());
+		final var copy = Snapshot.of(loadDocument());
+		assertEquals(snapshot.size(), copy.size());
+		for (var index = 0; index < snapshot.size(); index ++) {
+			assertEquals(snapshot.getChecksumOf(index), copy.getChecksumOf(index));
+		}
+	}
+
+	@Test
+	public void testParallelChecksumsMatchSequential() throws ParserConfigurationException {
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var root = document.createElement("root");
+		document.appendChild(root);
+		for (var section = 0; section < 8; section ++) {
+			final var list = document.createElement("ul");
+			list.setAttribute("data-section", Integer.toString(section));
+			root.appendChild(list);
+			for (var index = 0; index < 1000 * section; index ++) {
+				final var item = document.createElement("li");
+				item.setAttribute("class", "item-" + index % 7);
+				item.appendChild(document.createTextNode("Item " + index));
+				list.appendChild(item);
+			}
+		}
+		final var expected = Snapshot.of(document);
+		final var pool = new ForkJoinPool(4);
+		try {
+			final var actual = Snapshot.of(document, pool);
+			assertEquals(expected.size(), actual.size());
+			for (var index = 0; index < expected.size(); index ++) {
+				assertEquals(expected.getChecksumOf(index).toString(), actual.getChecksumOf(index).toString());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParseMatchesDocumentBuilder() throws IOException, SAXException, ParserConfigurationException {
+		final var expected = Snapshot.of(loadDocument());
+		final var actual = Snapshot.parse(new InputSource(new StringReader(HTML)));
+		assertEquals(expected.size(), actual.size());
+		for (var index = 0; index < expected.size(); index ++) {
+			assertEquals(expected.getType(index), actual.getType(index));
+			assertEquals(expected.getName(index), actual.getName(index));
+			assertEquals(expected.getValue(index), actual.getValue(index));
+			assertEquals(expected.getParent(index), actual.getParent(index));
+			assertEquals(expected.getEndOf(index), actual.getEndOf(index));
+			assertEquals(expected.getChecksumOf(index), actual.getChecksumOf(index));
+			assertEquals(expected.getNode(index).getNodeValue(), actual.getNode(index).getNodeValue());
+			assertSame(actual.getNode(actual.getParent(index) == NONE ? 0 : actual.getParent(index)), index == 0 ? actual.getNode(0) : actual.getNode(index).getParentNode());
+		}
+	}
+
+	private static Node toNode(Snapshot snapshot, int index) {
+		return index == NONE ? null : snapshot.getNode(index);
+	}
+
+	private static int countDescendantsOf(Node node) {
+		var count = 0;
+		for (var child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+			count += countDescendantsOf(child) + 1;
+		}
+		return count;
+	}
+
+	private Document loadDocument() throws IOException, SAXException, ParserConfigurationException {
+		final var builder = newInstance().newDocumentBuilder();
+		final var reader = new StringReader(HTML);
+		final var source = new InputSource(reader);
+		return builder.parse(source);
+	}
+
+}
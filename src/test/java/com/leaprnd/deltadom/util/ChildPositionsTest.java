@@ -0,0 +1,82 @@
+package com.leaprnd.deltadom.util;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.util.Random;
+
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ChildPositionsTest {
+
+	@Test
+	public void testManyRandomMutations() throws ParserConfigurationException {
+		final var random = new Random();
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var root = document.createElement("root");
+		document.appendChild(root);
+		final var left = append(document, root, "ul", 50);
+		final var right = append(document, root, "ol", 50);
+		final var positions = new ChildPositions(new InPlaceTree(document));
+		for (var step = 0; step < 10000; step ++) {
+			final var source = random.nextBoolean() ? left : right;
+			final var target = random.nextBoolean() ? left : right;
+			final var sourceLength = source.getChildNodes().getLength();
+			final var targetLength = target.getChildNodes().getLength();
+			switch (random.nextInt(3)) {
+				case 0 -> {
+					if (sourceLength > 0) {
+						final var child = source.getChildNodes().item(random.nextInt(sourceLength));
+						final var position = random.nextInt(targetLength + 1);
+						final var insertBefore = positions.get(target, position);
+						positions.remove(child);
+						target.insertBefore(child, insertBefore);
+						positions.insert(child);
+					}
+				}
+				case 1 -> {
+					if (sourceLength > 0) {
+						final var child = source.getChildNodes().item(random.nextInt(sourceLength));
+						positions.remove(child);
+						source.removeChild(child);
+					}
+				}
+				default -> {
+					final var child = document.createElement("li");
+					final var position = random.nextInt(targetLength + 1);
+					target.insertBefore(child, positions.get(target, position));
+					positions.insert(child);
+				}
+			}
+			verify(positions, left);
+			verify(positions, right);
+		}
+	}
+
+	private static Node append(Document document, Node parent, String tagName, int numberOfChildren) {
+		final var child = document.createElement(tagName);
+		parent.appendChild(child);
+		for (var index = 0; index < numberOfChildren; index ++) {
+			child.appendChild(document.createElement("li"));
+		}
+		return child;
+	}
+
+	private static void verify(ChildPositions positions, Node parent) {
+		final var children = parent.getChildNodes();
+		final var length = children.getLength();
+		for (var index = 0; index < length; index ++) {
+			final var child = children.item(index);
+			assertEquals(index, positions.indexOf(child));
+			assertSame(child, positions.get(parent, index));
+		}
+		assertNull(positions.get(parent, length));
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.leaprnd.deltadom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ClassListDeltaTest {
+
+	@Test
+	public void testToggledTokens() {
+		final var delta = ClassListDelta.between("card active large", "card large selected");
+		assertEquals(new ClassListDelta(List.of("active"), List.of("selected")), delta);
+	}
+
+	@Test
+	public void testReorderedTokensNeedTheFullValue() {
+		assertNull(ClassListDelta.between("a b c", "b a c"));
+		assertNull(ClassListDelta.between("a b", "c a b"));
+	}
+
+	@Test
+	public void testWhitespaceOnlyChangesNeedTheFullValue() {
+		assertNull(ClassListDelta.between("a  b", "a b"));
+		assertNull(ClassListDelta.between("a b", "a b c "));
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.leaprnd.deltadom.util;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import static javax.xml.parsers.DocumentBuilderFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class OverlayTreeTest {
+
+	@Test
+	public void testManyRandomMutations() throws ParserConfigurationException {
+		final var random = new Random();
+		final var document = newInstance().newDocumentBuilder().newDocument();
+		final var root = document.createElement("root");
+		document.appendChild(root);
+		final var left = append(document, root, "ul", 20);
+		final var right = append(document, root, "ol", 20);
+		final var original = toString(root);
+		final var copy = (Element) root.cloneNode(true);
+		final var copies = new HashMap<Node, Node>();
+		pair(root, copy, copies);
+		final var overlay = new OverlayTree();
+		for (var step = 0; step < 2000; step ++) {
+			final var source = random.nextBoolean() ? left : right;
+			final var target = random.nextBoolean() ? left : right;
+			final var sourceChildren = childrenOf(overlay, source);
+			final var targetChildren = childrenOf(overlay, target);
+			switch (random.nextInt(4)) {
+				case 0 -> {
+					if (!sourceChildren.isEmpty()) {
+						final var child = sourceChildren.get(random.nextInt(sourceChildren.size()));
+						final var insertBefore = random.nextInt(targetChildren.size() + 1) < targetChildren.size() ? targetChildren.get(random.nextInt(targetChildren.size())) : null;
+						overlay.insertBefore(target, child, insertBefore);
+						copies.get(target).insertBefore(copies.get(child), insertBefore == null ? null : copies.get(insertBefore));
+					}
+				}
+				case 1 -> {
+					if (!sourceChildren.isEmpty()) {
+						final var child = sourceChildren.get(random.nextInt(sourceChildren.size()));
+						overlay.removeChild(source, child);
+						copies.get(source).removeChild(copies.get(child));
+					}
+				}
+				case 2 -> {
+					final var child = document.createElement("li");
+					final var copyOfChild = copy.getOwnerDocument().createElement("li");
+					copies.put(child, copyOfChild);
+					overlay.insertBefore(target, overlay.importNode(child), null);
+					copies.get(target).appendChild(copyOfChild);
+				}
+				default -> {
+					if (!sourceChildren.isEmpty()) {
+						final var child = (Element) sourceChildren.get(random.nextInt(sourceChildren.size()));
+						final var attribute = document.createAttribute("id");
+						attribute.setValue("id" + step);
+						overlay.setAttribute(child, attribute);
+						((Element) copies.get(child)).setAttribute("id", "id" + step);
+					}
+				}
+			}
+			verify(overlay, left, copies);
+			verify(overlay, right, copies);
+		}
+		assertEquals(original, toString(root));
+	}
+
+	private static Element append(Document document, Node parent, String tagName, int numberOfChildren) {
+		final var child = document.createElement(tagName);
+		parent.appendChild(child);
+		for (var index = 0; index < numberOfChildren; index ++) {
+			child.appendChild(document.createElement("li"));
+		}
+		return child;
+	}
+
+	private static void pair(Node node, Node copy, HashMap<Node, Node> copies) {
+		copies.put(node, copy);
+		var child = node.getFirstChild();
+		var copyOfChild = copy.getFirstChild();
+		while (child != null) {
+			pair(child, copyOfChild, copies);
+			child = child.getNextSibling();
+			copyOfChild = copyOfChild.getNextSibling();
+		}
+	}
+
+	private static ArrayList<Node> childrenOf(MutableTree tree, Node parent) {
+		final var children = new ArrayList<Node>();
+		for (var child = tree.getFirstChild(parent); child != null; child = tree.getNextSibling(child)) {
+			children.add(child);
+		}
+		return children;
+	}
+
+	private static void verify(OverlayTree overlay, Node parent, HashMap<Node, Node> copies) {
+		var expected = copies.get(parent).getFirstChild();
+		Node previous = null;
+		for (var child = overlay.getFirstChild(parent); child != null; child = overlay.getNextSibling(child)) {
+			assertSame(expected, copies.get(child));
+			assertSame(parent, overlay.getParentNode(child));
+			assertSame(previous, overlay.getPreviousSibling(child));
+			final var element = (Element) child;
+			assertEquals(((Element) expected).getAttribute("id"), overlay.getAttribute(element, "id"));
+			previous = child;
+			expected = expected.getNextSibling();
+		}
+		assertNull(expected);
+		assertSame(previous, overlay.getLastChild(parent));
+	}
+
+	private static String toString(Node node) {
+		final var builder = new StringBuilder();
+		builder.append('<').append(node.getNodeName());
+		if (node instanceof final Element element && element.hasAttribute("id")) {
+			builder.append(" id=").append(element.getAttribute("id"));
+		}
+		builder.append('>');
+		for (var child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+			builder.append(toString(child));
+		}
+		return builder.append("</").append(node.getNodeName()).append('>').toString();
+	}
+
+}
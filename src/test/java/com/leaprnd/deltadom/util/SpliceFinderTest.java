@@ -0,0 +1,66 @@
+package com.leaprnd.deltadom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.leaprnd.deltadom.util.SpliceFinder.findSplicesBetween;
+import static java.lang.Character.isHighSurrogate;
+import static java.lang.Character.isLowSurrogate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SpliceFinderTest {
+
+	private static final String[] ALPHABET = { "a", "b", " ", "😀", "😁" };
+
+	@Test
+	public void testSingleCharacterEdit() {
+		final var oldValue = "x".repeat(10000) + "1" + "y".repeat(10000);
+		final var newValue = "x".repeat(10000) + "2" + "y".repeat(10000);
+		assertEquals(List.of(new Splice(10000, 1, "2")), findSplicesBetween(oldValue, newValue));
+	}
+
+	@Test
+	public void testEqualValues() {
+		assertEquals(List.of(), findSplicesBetween("same", "same"));
+	}
+
+	@Test
+	public void testManyRandomEdits() {
+		final var random = new Random(1);
+		for (var step = 0; step < 2000; step ++) {
+			final var oldValue = randomString(random, random.nextInt(300));
+			final var builder = new StringBuilder(oldValue);
+			final var numberOfEdits = random.nextInt(step % 2 == 0 ? 4 : 100);
+			for (var edit = 0; edit < numberOfEdits; edit ++) {
+				final var index = builder.offsetByCodePoints(0, random.nextInt(builder.codePointCount(0, builder.length()) + 1));
+				if (random.nextBoolean() && index < builder.length()) {
+					builder.delete(index, builder.offsetByCodePoints(index, 1));
+				} else {
+					builder.insert(index, randomString(random, 1 + random.nextInt(3)));
+				}
+			}
+			final var newValue = builder.toString();
+			final var result = new StringBuilder(oldValue);
+			for (final var splice : findSplicesBetween(oldValue, newValue)) {
+				final var start = splice.offset();
+				final var end = start + splice.deleteCount();
+				assertFalse(start < result.length() && isLowSurrogate(result.charAt(start)));
+				assertFalse(end > 0 && isHighSurrogate(result.charAt(end - 1)));
+				result.replace(start, end, splice.text());
+			}
+			assertEquals(newValue, result.toString());
+		}
+	}
+
+	private static String randomString(Random random, int length) {
+		final var builder = new StringBuilder();
+		for (var index = 0; index < length; index ++) {
+			builder.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.leaprnd.deltadom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class StyleDeltaTest {
+
+	@Test
+	public void testChangedProperties() {
+		final var delta = StyleDelta.between(
+			"color: red; background-image: url(\"a;b.png\"); width: 10px",
+			"color: blue; background-image: url(\"a;b.png\"); --gap: 2px"
+		);
+		assertEquals(new StyleDelta(List.of("width"), Map.of("color", "blue", "--gap", "2px")), delta);
+	}
+
+	@Test
+	public void testShorthandsNeedTheFullValue() {
+		assertNull(StyleDelta.between("margin: 0; margin-top: 4px", "margin: 0"));
+		assertNull(StyleDelta.between("margin-top: 4px", "margin: 0; margin-top: 4px"));
+		assertNull(StyleDelta.between("border-width: 1px; border-left-width: 3px", "border-width: 2px; border-left-width: 3px"));
+		assertNull(StyleDelta.between("font: 12px serif; line-height: 2", "font: 14px serif; line-height: 2"));
+		assertNull(StyleDelta.between("inset: 0; top: 4px", "inset: 1px; top: 4px"));
+		assertNull(StyleDelta.between("word-wrap: normal; overflow-wrap: anywhere", "word-wrap: break-word; overflow-wrap: anywhere"));
+		assertNull(StyleDelta.between("-webkit-mask: none; mask-image: none", "-webkit-mask: url(a.svg); mask-image: none"));
+	}
+
+	@Test
+	public void testUnparsableValuesNeedTheFullValue() {
+		assertNull(StyleDelta.between("color: red !important", "color: blue"));
+		assertNull(StyleDelta.between("color: red /* note */", "color: blue"));
+		assertNull(StyleDelta.between("color: red; color: blue", "color: green"));
+		assertNull(StyleDelta.between("color", "color: green"));
+	}
+
+}